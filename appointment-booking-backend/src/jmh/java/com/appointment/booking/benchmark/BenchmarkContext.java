@@ -0,0 +1,184 @@
+package com.appointment.booking.benchmark;
+
+import com.appointment.booking.AppointmentBookingApplication;
+import com.appointment.booking.service.SlotAvailabilityIndex;
+import com.appointment.booking.service.SlotGenerationEngine;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application against a fresh in-memory H2 database and seeds a realistic dataset with JDBC batches.
+ * Sizes come from system properties: bench.doctors (300), bench.days (60), bench.users (2000),
+ * bench.booked-ratio (0.3). Setting bench.datasource.url (with bench.datasource.username/password) runs
+ * against that database instead, e.g. a scratch MySQL schema; its tables are dropped and recreated.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    private static final AtomicInteger DB_COUNTER = new AtomicInteger();
+    private static final int SEED_BATCH = 10_000;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbc;
+    private final LocalDate firstDay = LocalDate.now();
+    private final int days = Integer.getInteger("bench.days", 60);
+    private List<Long> doctorIds;
+    private List<Long> userIds;
+    private long seededMaxAppointmentId;
+
+    private BenchmarkContext(WebApplicationType webType, Map<String, Object> overrides) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("spring.datasource.url", "jdbc:h2:mem:bench" + DB_COUNTER.incrementAndGet()
+                + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        props.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        props.put("spring.jpa.show-sql", "false");
+        props.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        props.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        String externalUrl = System.getProperty("bench.datasource.url");
+        if (externalUrl != null && !externalUrl.isBlank()) {
+            props.put("spring.datasource.url", externalUrl);
+            props.put("spring.datasource.username", System.getProperty("bench.datasource.username", "root"));
+            props.put("spring.datasource.password", System.getProperty("bench.datasource.password", ""));
+            props.remove("spring.datasource.driver-class-name");
+            props.remove("spring.jpa.properties.hibernate.dialect");
+            props.remove("spring.jpa.database-platform");
+        }
+        props.put("app.slot-generation.days-ahead", "0");
+        props.put("logging.level.root", "WARN");
+        props.put("server.port", "0");
+        props.putAll(overrides);
+        // Passed as command-line arguments so they take precedence over application.yaml.
+        String[] args = props.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        this.context = new SpringApplicationBuilder(AppointmentBookingApplication.class)
+                .web(webType)
+                .run(args);
+        this.jdbc = context.getBean(JdbcTemplate.class);
+    }
+
+    public static BenchmarkContext start(Map<String, Object> overrides) {
+        BenchmarkContext ctx = new BenchmarkContext(WebApplicationType.NONE, overrides);
+        ctx.seed();
+        return ctx;
+    }
+
+    /** Same dataset, but with the embedded Tomcat listening on a random port. */
+    public static BenchmarkContext startWeb(Map<String, Object> overrides) {
+        BenchmarkContext ctx = new BenchmarkContext(WebApplicationType.SERVLET, overrides);
+        ctx.seed();
+        return ctx;
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Long> doctorIds() {
+        return doctorIds;
+    }
+
+    public List<Long> userIds() {
+        return userIds;
+    }
+
+    public LocalDate firstDay() {
+        return firstDay;
+    }
+
+    private void seed() {
+        int doctorCount = Integer.getInteger("bench.doctors", 300);
+        int userCount = Integer.getInteger("bench.users", 2000);
+        double bookedRatio = Double.parseDouble(System.getProperty("bench.booked-ratio", "0.3"));
+        Random random = new Random(42);
+
+        List<Long> serviceIds = jdbc.queryForList("SELECT id FROM services ORDER BY id", Long.class);
+        List<Object[]> doctors = new ArrayList<>();
+        for (int i = 0; i < doctorCount; i++) {
+            doctors.add(new Object[]{"Dr. Bench " + i, "MD", serviceIds.get(i % serviceIds.size()),
+                    4 + random.nextInt(3), 2 + random.nextInt(2)});
+        }
+        jdbc.batchUpdate("INSERT INTO doctors (name, title, service_id, weekday_slot_count, weekend_slot_count) "
+                + "VALUES (?, ?, ?, ?, ?)", doctors);
+        doctorIds = jdbc.queryForList("SELECT id FROM doctors ORDER BY id", Long.class);
+
+        bean(SlotGenerationEngine.class).generate(firstDay, firstDay.plusDays(days - 1L));
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            users.add(new Object[]{"patient" + i + "@bench.local", "x", "Patient " + i, null, "USER"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (email, password, name, phone, role) VALUES (?, ?, ?, ?, ?)", users);
+        userIds = jdbc.queryForList("SELECT id FROM users WHERE role = 'USER' ORDER BY id", Long.class);
+
+        List<Object[]> appointments = new ArrayList<>(SEED_BATCH);
+        List<Object[]> taken = new ArrayList<>(SEED_BATCH);
+        Timestamp now = Timestamp.from(Instant.now());
+        for (Long slotId : jdbc.queryForList("SELECT id FROM slots ORDER BY id", Long.class)) {
+            if (random.nextDouble() < bookedRatio) {
+                appointments.add(new Object[]{userIds.get(random.nextInt(userIds.size())), slotId,
+                        random.nextBoolean() ? "PENDING" : "APPROVED", now, now});
+                taken.add(new Object[]{slotId});
+                if (appointments.size() == SEED_BATCH) {
+                    insertAppointments(appointments, taken);
+                }
+            }
+        }
+        insertAppointments(appointments, taken);
+        Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM appointments", Long.class);
+        seededMaxAppointmentId = maxId == null ? 0 : maxId;
+        rebuildIndex();
+    }
+
+    /** Chunked so seeding millions of appointments never holds them all in one JDBC batch. */
+    private void insertAppointments(List<Object[]> appointments, List<Object[]> taken) {
+        if (appointments.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("INSERT INTO appointments (user_id, slot_id, status, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", appointments);
+        jdbc.batchUpdate("UPDATE slots SET available = FALSE WHERE id = ?", taken);
+        appointments.clear();
+        taken.clear();
+    }
+
+    /** Drops appointments created by benchmark invocations and frees their slots again. */
+    public void resetBookings() {
+        jdbc.update("DELETE FROM appointments WHERE id > ?", seededMaxAppointmentId);
+        jdbc.update("UPDATE slots SET available = TRUE WHERE available = FALSE AND id NOT IN "
+                + "(SELECT slot_id FROM appointments WHERE status IN ('PENDING', 'APPROVED'))");
+        rebuildIndex();
+    }
+
+    /** Ids of free future slots in a stable order. */
+    public long[] freeSlotIds() {
+        return jdbc.queryForList("SELECT id FROM slots WHERE available = TRUE AND slot_date > ? ORDER BY id",
+                Long.class, firstDay).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void rebuildIndex() {
+        SlotAvailabilityIndex index = bean(SlotAvailabilityIndex.class);
+        if (index.isEnabled()) {
+            index.rebuild();
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.appointment.booking.benchmark;
+
+import com.appointment.booking.dto.BookAppointmentRequest;
+import com.appointment.booking.exception.SlotConflictException;
+import com.appointment.booking.service.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AppointmentService.book: distinct slots on one and eight threads, and eight threads fighting over the same slot.
+ * Conflicts count as completed operations, so the hot-slot score is attempts per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    BenchmarkContext ctx;
+    AppointmentService appointmentService;
+    long[] freeSlots;
+    final AtomicInteger next = new AtomicInteger();
+    final AtomicInteger hot = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkContext.start(Map.of());
+        appointmentService = ctx.bean(AppointmentService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetIteration() {
+        ctx.resetBookings();
+        freeSlots = ctx.freeSlotIds();
+        next.set(0);
+        hot.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Patient {
+        long userId;
+
+        @Setup(Level.Trial)
+        public void pick(BookingBenchmark bench, ThreadParams threadParams) {
+            userId = bench.ctx.userIds().get(threadParams.getThreadIndex() % bench.ctx.userIds().size());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object bookSingleThread(Patient patient) {
+        return book(patient.userId, freeSlots[next.getAndIncrement() % freeSlots.length]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object bookDistinctSlots8Threads(Patient patient) {
+        return book(patient.userId, freeSlots[next.getAndIncrement() % freeSlots.length]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object bookHotSlot8Threads(Patient patient) {
+        int current = hot.get();
+        Object result = book(patient.userId, freeSlots[current % freeSlots.length]);
+        hot.compareAndSet(current, current + 1);
+        return result;
+    }
+
+    private Object book(long userId, long slotId) {
+        try {
+            return appointmentService.book(userId, BookAppointmentRequest.builder().slotId(slotId).build());
+        } catch (SlotConflictException e) {
+            return e;
+        }
+    }
+}
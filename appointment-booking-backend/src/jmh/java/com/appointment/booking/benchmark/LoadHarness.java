@@ -0,0 +1,268 @@
+package com.appointment.booking.benchmark;
+
+import com.appointment.booking.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mixed-traffic load run over HTTP against the full controller stack, on the dataset seeded by
+ * {@link BenchmarkContext} (bench.doctors, bench.days, bench.users, bench.booked-ratio, bench.datasource.url).
+ * <p>
+ * Run: {@code mvn -Pbenchmarks test-compile exec:exec -Dbench.main=com.appointment.booking.benchmark.LoadHarness
+ * -Dbench.doctors=5000 -Dbench.days=180}
+ * <p>
+ * Settings: load.concurrency (64), load.warmup-s (10), load.duration-s (60) and load.mix, the relative weight
+ * of each operation (default {@code browse=70,book=12,cancel=6,reschedule=6,approve=6}). Prints throughput,
+ * latency percentiles and the share of book/reschedule attempts rejected with 409 per operation.
+ */
+public final class LoadHarness {
+
+    private static final String ADMIN_EMAIL = "admin@booking.com";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    enum Op { BROWSE, BOOK, CANCEL, RESCHEDULE, APPROVE }
+
+    private final BenchmarkContext ctx;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String base;
+    private final String adminToken;
+    private final long[] slotIds;
+    private final Op[] wheel;
+    /** Appointments booked during the run that an admin may still approve. */
+    private final Queue<Long> pendingForApproval = new ConcurrentLinkedQueue<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<Op, Timer> timers = new EnumMap<>(Op.class);
+    private final Map<Op, AtomicLong> conflicts = new EnumMap<>(Op.class);
+    private final Map<Op, AtomicLong> errors = new EnumMap<>(Op.class);
+    private final Map<Op, AtomicLong> skipped = new EnumMap<>(Op.class);
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadHarness(BenchmarkContext ctx, Map<Op, Integer> mix) {
+        this.ctx = ctx;
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.objectMapper = ctx.bean(ObjectMapper.class);
+        this.base = "http://localhost:" + ctx.port();
+        Long adminId = ctx.bean(JdbcTemplate.class)
+                .queryForObject("SELECT id FROM users WHERE email = ?", Long.class, ADMIN_EMAIL);
+        this.adminToken = ctx.bean(JwtUtil.class).generateToken(ADMIN_EMAIL, adminId, "ADMIN");
+        this.slotIds = ctx.freeSlotIds();
+        List<Op> ops = new ArrayList<>();
+        mix.forEach((op, weight) -> ops.addAll(Collections.nCopies(weight, op)));
+        this.wheel = ops.toArray(Op[]::new);
+        for (Op op : Op.values()) {
+            timers.put(op, Timer.builder("load." + op.name().toLowerCase())
+                    .publishPercentiles(PERCENTILES)
+                    .distributionStatisticExpiry(Duration.ofDays(1))
+                    .distributionStatisticBufferLength(1)
+                    .register(registry));
+            conflicts.put(op, new AtomicLong());
+            errors.put(op, new AtomicLong());
+            skipped.put(op, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 64);
+        int warmupSeconds = Integer.getInteger("load.warmup-s", 10);
+        int durationSeconds = Integer.getInteger("load.duration-s", 60);
+        Map<Op, Integer> mix = parseMix(System.getProperty("load.mix",
+                "browse=70,book=12,cancel=6,reschedule=6,approve=6"));
+
+        long seedStart = System.nanoTime();
+        try (BenchmarkContext ctx = BenchmarkContext.startWeb(Map.of(
+                "server.tomcat.threads.max", String.valueOf(Math.max(concurrency, 200))))) {
+            System.out.printf("Seeded %d doctors, %d users, %d free slots in %ds%n", ctx.doctorIds().size(),
+                    ctx.userIds().size(), ctx.freeSlotIds().length,
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStart));
+            new LoadHarness(ctx, mix).run(concurrency, warmupSeconds, durationSeconds);
+        }
+    }
+
+    private void run(int concurrency, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Long userId = ctx.userIds().get(i % ctx.userIds().size());
+            String token = ctx.bean(JwtUtil.class).generateToken("load" + i + "@bench.local", userId, "USER");
+            long seed = i;
+            pool.execute(() -> drive(token, new SplittableRandom(seed)));
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+        report(concurrency, elapsedSeconds);
+    }
+
+    /** One simulated patient: keeps its own booked appointments so cancel and reschedule target real rows. */
+    private void drive(String token, SplittableRandom random) {
+        Deque<Long> booked = new ArrayDeque<>();
+        while (running) {
+            Op op = wheel[random.nextInt(wheel.length)];
+            try {
+                switch (op) {
+                    case BROWSE -> {
+                        Long doctorId = ctx.doctorIds().get(random.nextInt(ctx.doctorIds().size()));
+                        LocalDate date = ctx.firstDay().plusDays(1 + random.nextInt(bookableDays()));
+                        send(op, get("/api/slots/by-date?doctorId=" + doctorId + "&date=" + date, token));
+                    }
+                    case BOOK -> {
+                        HttpResponse<String> response = send(op, request("POST", "/api/appointments/book",
+                                "{\"slotId\":" + randomSlot(random) + "}", token));
+                        if (response.statusCode() == 201) {
+                            Long id = idOf(response);
+                            booked.push(id);
+                            pendingForApproval.add(id);
+                        }
+                    }
+                    case CANCEL -> {
+                        Long id = booked.poll();
+                        if (id == null) {
+                            skip(op);
+                            continue;
+                        }
+                        send(op, request("PUT", "/api/appointments/cancel/" + id, "", token));
+                    }
+                    case RESCHEDULE -> {
+                        Long id = booked.peek();
+                        if (id == null) {
+                            skip(op);
+                            continue;
+                        }
+                        send(op, request("PUT", "/api/appointments/reschedule/" + id,
+                                "{\"newSlotId\":" + randomSlot(random) + "}", token));
+                    }
+                    case APPROVE -> {
+                        Long id = pendingForApproval.poll();
+                        if (id == null) {
+                            skip(op);
+                            continue;
+                        }
+                        send(op, request("PUT", "/api/admin/appointments/" + id + "/status",
+                                "{\"status\":\"APPROVED\"}", adminToken));
+                    }
+                }
+            } catch (Exception e) {
+                if (recording) {
+                    errors.get(op).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private HttpResponse<String> send(Op op, HttpRequest request) throws Exception {
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (recording) {
+            timers.get(op).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (response.statusCode() == 409) {
+                conflicts.get(op).incrementAndGet();
+            } else if (response.statusCode() >= 400) {
+                errors.get(op).incrementAndGet();
+            }
+        }
+        return response;
+    }
+
+    private void skip(Op op) {
+        if (recording) {
+            skipped.get(op).incrementAndGet();
+        }
+    }
+
+    private long randomSlot(SplittableRandom random) {
+        return slotIds[random.nextInt(slotIds.length)];
+    }
+
+    private int bookableDays() {
+        return Math.max(1, Integer.getInteger("bench.days", 60) - 1);
+    }
+
+    private Long idOf(HttpResponse<String> response) throws Exception {
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("id").asLong();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest request(String method, String path, String json, String token) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .method(method, json.isEmpty()
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private void report(int concurrency, double elapsedSeconds) {
+        System.out.printf("%nConcurrency %d, measured %.1fs%n", concurrency, elapsedSeconds);
+        System.out.printf("%-11s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "409", "errors");
+        long total = 0;
+        for (Op op : Op.values()) {
+            Timer timer = timers.get(op);
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            total += timer.count();
+            System.out.printf("%-11s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9d %9d%n",
+                    op.name().toLowerCase(), timer.count(), timer.count() / elapsedSeconds,
+                    percentiles[0].value(TimeUnit.MILLISECONDS), percentiles[1].value(TimeUnit.MILLISECONDS),
+                    percentiles[2].value(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS),
+                    conflicts.get(op).get(), errors.get(op).get());
+        }
+        long attempts = timers.get(Op.BOOK).count() + timers.get(Op.RESCHEDULE).count();
+        long rejected = conflicts.get(Op.BOOK).get() + conflicts.get(Op.RESCHEDULE).get();
+        System.out.printf("Total %.1f req/s; booking conflict rate %.2f%% (%d of %d book/reschedule attempts)%n",
+                total / elapsedSeconds, attempts == 0 ? 0.0 : 100.0 * rejected / attempts, rejected, attempts);
+        skipped.forEach((op, count) -> {
+            if (count.get() > 0) {
+                System.out.printf("Skipped %d %s (nothing to act on yet)%n", count.get(), op.name().toLowerCase());
+            }
+        });
+    }
+
+    private static Map<Op, Integer> parseMix(String spec) {
+        Map<Op, Integer> mix = new EnumMap<>(Op.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("load.mix entries must look like op=weight: " + part);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(Op.valueOf(kv[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no positive weights");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,77 @@
+package com.appointment.booking.benchmark;
+
+import com.appointment.booking.dto.AppointmentResponse;
+import com.appointment.booking.dto.BookAppointmentRequest;
+import com.appointment.booking.dto.RescheduleRequest;
+import com.appointment.booking.exception.SlotConflictException;
+import com.appointment.booking.service.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AppointmentService.reschedule: each thread owns one appointment and keeps moving it to the next free slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RescheduleBenchmark {
+
+    BenchmarkContext ctx;
+    AppointmentService appointmentService;
+    long[] freeSlots;
+    final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkContext.start(Map.of());
+        appointmentService = ctx.bean(AppointmentService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetIteration() {
+        ctx.resetBookings();
+        freeSlots = ctx.freeSlotIds();
+        next.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    long nextSlot() {
+        return freeSlots[next.getAndIncrement() % freeSlots.length];
+    }
+
+    @State(Scope.Thread)
+    public static class Booking {
+        long userId;
+        long appointmentId;
+
+        @Setup(Level.Iteration)
+        public void book(RescheduleBenchmark bench, ThreadParams threadParams) {
+            userId = bench.ctx.userIds().get(threadParams.getThreadIndex() % bench.ctx.userIds().size());
+            AppointmentResponse booked = bench.appointmentService.book(userId,
+                    BookAppointmentRequest.builder().slotId(bench.nextSlot()).build());
+            appointmentId = booked.getId();
+        }
+    }
+
+    @Benchmark
+    public Object reschedule(Booking booking) {
+        try {
+            return appointmentService.reschedule(booking.userId, booking.appointmentId,
+                    RescheduleRequest.builder().newSlotId(nextSlot()).build());
+        } catch (SlotConflictException e) {
+            return e;
+        }
+    }
+}
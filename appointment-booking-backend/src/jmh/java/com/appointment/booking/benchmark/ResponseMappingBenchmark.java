@@ -0,0 +1,55 @@
+package com.appointment.booking.benchmark;
+
+import com.appointment.booking.dto.AdminAppointmentFilter;
+import com.appointment.booking.dto.AppointmentResponse;
+import com.appointment.booking.dto.PageResponse;
+import com.appointment.booking.service.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The appointment read paths end to end, i.e. query plus response mapping:
+ * a patient's own list, the first admin page and the full admin list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private BenchmarkContext ctx;
+    private AppointmentService appointmentService;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkContext.start(Map.of());
+        appointmentService = ctx.bean(AppointmentService.class);
+        userId = ctx.userIds().get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public List<AppointmentResponse> myAppointments() {
+        return appointmentService.getMyAppointments(userId);
+    }
+
+    @Benchmark
+    public PageResponse<AppointmentResponse> adminFirstPage() {
+        return appointmentService.getAppointmentsPageForAdmin(new AdminAppointmentFilter(), null, 50);
+    }
+
+    @Benchmark
+    public List<AppointmentResponse> adminFullList() {
+        return appointmentService.getAllAppointmentsForAdmin();
+    }
+}
@@ -0,0 +1,69 @@
+package com.appointment.booking.benchmark;
+
+import com.appointment.booking.dto.SlotResponse;
+import com.appointment.booking.service.SlotService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot browsing: the four filter modes of getAvailableSlots and getSlotsForDate,
+ * with the in-memory availability index on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotQueryBenchmark {
+
+    @Param({"true", "false"})
+    public boolean slotIndex;
+
+    private BenchmarkContext ctx;
+    private SlotService slotService;
+    private Long doctorId;
+    private LocalDate date;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkContext.start(Map.of("app.slot-index.enabled", String.valueOf(slotIndex)));
+        slotService = ctx.bean(SlotService.class);
+        doctorId = ctx.doctorIds().get(ctx.doctorIds().size() / 2);
+        date = ctx.firstDay().plusDays(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public List<SlotResponse> availableByDoctorAndDate() {
+        return slotService.getAvailableSlots(doctorId, date);
+    }
+
+    @Benchmark
+    public List<SlotResponse> availableByDoctor() {
+        return slotService.getAvailableSlots(doctorId, null);
+    }
+
+    @Benchmark
+    public List<SlotResponse> availableByDate() {
+        return slotService.getAvailableSlots(null, date);
+    }
+
+    @Benchmark
+    public List<SlotResponse> availableUnfiltered() {
+        return slotService.getAvailableSlots(null, null);
+    }
+
+    @Benchmark
+    public List<SlotResponse> slotsForDate() {
+        return slotService.getSlotsForDate(doctorId, date);
+    }
+}
@@ -0,0 +1,73 @@
+package com.appointment.booking.benchmark;
+
+import com.appointment.booking.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP round trips through Tomcat, security and JPA with platform versus virtual request threads.
+ * SampleTime mode reports throughput together with the p99 latency. Tomcat's pool is pinned small
+ * (bench.tomcat-threads, default 20) so 64 clients exceed it in platform mode.
+ * The virtual variant needs a Java 21 runtime (build with -Pjava21).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+public class ThreadModeBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private BenchmarkContext ctx;
+    private HttpClient client;
+    private HttpRequest availableSlots;
+    private HttpRequest myAppointments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkContext.startWeb(Map.of(
+                "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                "server.tomcat.threads.max", System.getProperty("bench.tomcat-threads", "20")));
+        Long userId = ctx.userIds().get(0);
+        String token = ctx.bean(JwtUtil.class).generateToken("patient0@bench.local", userId, "USER");
+        String base = "http://localhost:" + ctx.port();
+        Long doctorId = ctx.doctorIds().get(0);
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        availableSlots = get(base + "/api/slots/available?doctorId=" + doctorId
+                + "&date=" + ctx.firstDay().plusDays(3), token);
+        myAppointments = get(base + "/api/appointments/my", token);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public int availableSlots() throws Exception {
+        return client.send(availableSlots, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int myAppointments() throws Exception {
+        return client.send(myAppointments, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+}
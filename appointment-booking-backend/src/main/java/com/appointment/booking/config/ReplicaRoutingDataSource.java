@@ -0,0 +1,116 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.security.UserPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy} so the read-only flag is known when the
+ * connection is actually fetched.
+ * <p>
+ * Staleness guard: a user who ran a read-write transaction keeps reading from the primary for
+ * {@code maxLagMs}, so they see their own booking immediately. If the replica is marked down, or handing
+ * out a connection fails, reads fall back to the primary until the health check sees it again.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMs;
+    private final Map<Long, Long> primaryPinnedUntil = new ConcurrentHashMap<>();
+    private volatile boolean replicaHealthy = true;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long maxLagMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+        long now = System.currentTimeMillis();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                primaryPinnedUntil.put(userId, now + maxLagMs);
+            }
+            return Route.PRIMARY;
+        }
+        if (!replicaHealthy) {
+            return Route.PRIMARY;
+        }
+        if (userId != null) {
+            Long until = primaryPinnedUntil.get(userId);
+            if (until != null) {
+                if (now < until) {
+                    return Route.PRIMARY;
+                }
+                primaryPinnedUntil.remove(userId, until);
+            }
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markReplicaHealthy(false);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    void markReplicaHealthy(boolean healthy) {
+        if (replicaHealthy != healthy) {
+            log.warn("Read replica is now {}", healthy ? "UP, routing read-only transactions to it" : "DOWN, reading from primary");
+        }
+        replicaHealthy = healthy;
+    }
+
+    /** Probes the replica and drops expired staleness pins; called periodically by the config. */
+    public void checkReplica() {
+        try (Connection conn = replica.getConnection()) {
+            markReplicaHealthy(conn.isValid(2));
+        } catch (SQLException e) {
+            markReplicaHealthy(false);
+        }
+        long now = System.currentTimeMillis();
+        primaryPinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,184 @@
+package com.appointment.booking.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Versioned schema migrations, run once per database after Hibernate has created/updated the tables.
+ * Applied versions are recorded in {@code schema_migrations}; each step is idempotent so a half-applied
+ * migration (or two instances starting together) can safely run again. Index steps are re-run whenever a required
+ * index is missing even though their version is recorded, because the tables can be rebuilt without
+ * {@code schema_migrations} (e.g. {@code ddl-auto: create-drop}). After the migrations the indexes the hot
+ * queries rely on are verified and startup fails if any is missing.
+ */
+@Slf4j
+@Component
+@Order(0)
+public class SchemaMigrationRunner implements CommandLineRunner {
+
+    private static final List<IndexSpec> REQUIRED_INDEXES = List.of(
+            new IndexSpec("slots", "uk_slots_doctor_date_start", "doctor_id, slot_date, start_time", true),
+            new IndexSpec("slots", "idx_slots_available_date", "available, slot_date", false),
+            new IndexSpec("appointments", "idx_appointments_slot_status", "slot_id, status", false),
+            new IndexSpec("appointments", "idx_appointments_user_created", "user_id, created_at", false),
+            new IndexSpec("appointments", "idx_appointments_created_id", "created_at, id", false),
+            new IndexSpec("appointments", "idx_appointments_status_created", "status, created_at", false));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Migration> migrations;
+
+    public SchemaMigrationRunner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.migrations = List.of(
+                new Migration(1, "Convert legacy CANCELLED appointments to REJECTED", false, this::rejectCancelled),
+                new Migration(2, "Composite indexes for slot and appointment lookups", true, this::createLookupIndexes),
+                new Migration(3, "Unique slot per doctor, date and start time", true, this::uniqueSlotIdentity));
+    }
+
+    @Override
+    public void run(String... args) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations ("
+                + "version INT NOT NULL PRIMARY KEY, "
+                + "description VARCHAR(200) NOT NULL, "
+                + "applied_at TIMESTAMP NOT NULL)");
+        Set<Integer> applied = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT version FROM schema_migrations", Integer.class));
+        boolean indexesMissing = REQUIRED_INDEXES.stream().anyMatch(index -> !indexExists(index));
+        for (Migration migration : migrations) {
+            boolean recorded = applied.contains(migration.version());
+            if (recorded && !(migration.createsIndexes() && indexesMissing)) {
+                continue;
+            }
+            if (recorded) {
+                log.warn("Re-applying schema migration {} because required indexes are missing: {}",
+                        migration.version(), migration.description());
+                migration.step().run();
+                continue;
+            }
+            log.info("Applying schema migration {}: {}", migration.version(), migration.description());
+            migration.step().run();
+            jdbcTemplate.update("INSERT INTO schema_migrations (version, description, applied_at) VALUES (?, ?, ?)",
+                    migration.version(), migration.description(), Timestamp.from(Instant.now()));
+        }
+        verifyIndexes();
+    }
+
+    private void rejectCancelled() {
+        jdbcTemplate.update("UPDATE appointments SET status = 'REJECTED' WHERE status = 'CANCELLED'");
+    }
+
+    private void createLookupIndexes() {
+        for (IndexSpec index : REQUIRED_INDEXES) {
+            if (!index.unique()) {
+                createIndexIfMissing(index);
+            }
+        }
+    }
+
+    /**
+     * Collapses duplicate slots so the unique index can be created. In each duplicate group the slot with an active
+     * (PENDING or APPROVED) appointment is kept, or the oldest if there is none; inactive appointment history on the
+     * other slots is moved onto the kept one before they are deleted. A group with more than one actively booked
+     * slot cannot be collapsed safely, so startup fails listing those rows.
+     */
+    private void uniqueSlotIdentity() {
+        Map<String, List<DuplicateSlot>> groups = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT s.id, s.doctor_id, s.slot_date, s.start_time, "
+                + "CASE WHEN EXISTS (SELECT 1 FROM appointments a WHERE a.slot_id = s.id "
+                + "AND a.status IN ('PENDING', 'APPROVED')) THEN 1 ELSE 0 END AS booked "
+                + "FROM slots s JOIN (SELECT doctor_id, slot_date, start_time FROM slots "
+                + "GROUP BY doctor_id, slot_date, start_time HAVING COUNT(*) > 1) d "
+                + "ON d.doctor_id = s.doctor_id AND d.slot_date = s.slot_date AND d.start_time = s.start_time "
+                + "ORDER BY s.doctor_id, s.slot_date, s.start_time, s.id", rs -> {
+            String key = "doctor " + rs.getLong("doctor_id") + " on " + rs.getDate("slot_date").toLocalDate()
+                    + " at " + rs.getTime("start_time").toLocalTime();
+            groups.computeIfAbsent(key, k -> new ArrayList<>())
+                    .add(new DuplicateSlot(rs.getLong("id"), rs.getInt("booked") == 1));
+        });
+        List<Object[]> moves = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<String> conflicts = new ArrayList<>();
+        groups.forEach((key, slots) -> {
+            List<DuplicateSlot> booked = slots.stream().filter(DuplicateSlot::booked).toList();
+            if (booked.size() > 1) {
+                conflicts.add(key + ": slots " + booked.stream().map(DuplicateSlot::id).toList());
+                return;
+            }
+            long keep = booked.isEmpty() ? slots.get(0).id() : booked.get(0).id();
+            slots.stream().filter(slot -> slot.id() != keep).forEach(slot -> {
+                moves.add(new Object[]{keep, slot.id()});
+                deletes.add(new Object[]{slot.id()});
+            });
+        });
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("Cannot create unique index uk_slots_doctor_date_start: "
+                    + "more than one slot with active appointments for the same doctor, date and start time; "
+                    + "merge these by hand: " + String.join("; ", conflicts));
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE appointments SET slot_id = ? WHERE slot_id = ?", moves);
+            jdbcTemplate.batchUpdate("DELETE FROM slots WHERE id = ?", deletes);
+            log.warn("Removed {} duplicate slots without active appointments", deletes.size());
+        }
+        REQUIRED_INDEXES.stream().filter(IndexSpec::unique).forEach(this::createIndexIfMissing);
+    }
+
+    private void createIndexIfMissing(IndexSpec index) {
+        if (indexExists(index)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE " + (index.unique() ? "UNIQUE " : "") + "INDEX " + index.name()
+                + " ON " + index.table() + " (" + index.columns() + ")");
+    }
+
+    private void verifyIndexes() {
+        for (IndexSpec index : REQUIRED_INDEXES) {
+            if (!indexExists(index)) {
+                throw new IllegalStateException("Required index " + index.name() + " on " + index.table() + " is missing");
+            }
+        }
+    }
+
+    private boolean indexExists(IndexSpec index) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) conn -> {
+            DatabaseMetaData meta = conn.getMetaData();
+            String table = meta.storesUpperCaseIdentifiers()
+                    ? index.table().toUpperCase(Locale.ROOT) : index.table();
+            try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, table, false, false)) {
+                while (rs.next()) {
+                    if (index.name().equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /** {@code createsIndexes} steps are idempotent and re-run whenever a required index is missing. */
+    private record Migration(int version, String description, boolean createsIndexes, Runnable step) {
+    }
+
+    private record DuplicateSlot(long id, boolean booked) {
+    }
+
+    private record IndexSpec(String table, String name, String columns, boolean unique) {
+    }
+}
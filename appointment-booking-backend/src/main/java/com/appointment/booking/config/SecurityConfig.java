@@ -2,6 +2,8 @@ package com.appointment.booking.config;
 
 import com.appointment.booking.security.JwtAuthFilter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -18,6 +20,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -56,8 +59,29 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt with a fixed strength, or (strength 0) the highest strength whose hash stays within
+     * {@code target-ms} on this machine, never below the library default of 10.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.password-hashing.strength:0}") int strength,
+                                           @Value("${app.password-hashing.target-ms:250}") long targetMs) {
+        return new BCryptPasswordEncoder(strength > 0 ? strength : calibrateStrength(targetMs));
+    }
+
+    private static int calibrateStrength(long targetMs) {
+        int base = 10;
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(base);
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double baseMs = Math.max(1, (System.nanoTime() - start) / 1_000_000.0);
+        int strength = base;
+        while (strength < 16 && baseMs * (1L << (strength + 1 - base)) <= targetMs) {
+            strength++;
+        }
+        log.info("BCrypt strength calibrated to {} (strength {} took {} ms, target {} ms)",
+                strength, base, Math.round(baseMs), targetMs);
+        return strength;
     }
 }
@@ -5,11 +5,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
  * Generates fixed calendar slots for all doctors after data is initialized.
  * Weekdays: 4-6 slots per doctor; Weekends: 2-3 slots per doctor (configurable per doctor).
+ * A daily job then fills any day of the {@code days-ahead} window that is still missing slots, normally just the newly exposed one.
  */
 @Component
 @Order(2)
@@ -25,4 +27,9 @@ public class SlotGenerator implements CommandLineRunner {
     public void run(String... args) {
         slotService.generateSlotsForDoctors(daysAhead);
     }
+
+    @Scheduled(cron = "${app.slot-generation.cron:0 5 0 * * *}")
+    public void generateRollingDay() {
+        slotService.generateNewlyExposedDays(daysAhead);
+    }
 }
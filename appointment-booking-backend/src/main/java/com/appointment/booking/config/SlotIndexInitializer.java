@@ -0,0 +1,25 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.service.SlotAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the in-memory slot availability index once slots have been generated.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class SlotIndexInitializer implements CommandLineRunner {
+
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+
+    @Override
+    public void run(String... args) {
+        if (slotAvailabilityIndex.isEnabled()) {
+            slotAvailabilityIndex.rebuild();
+        }
+    }
+}
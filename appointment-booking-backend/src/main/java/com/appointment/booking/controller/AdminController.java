@@ -29,6 +29,26 @@ public class AdminController {
         return ResponseEntity.ok(appointmentService.getAllAppointmentsForAdmin());
     }
 
+    /** Newest-first keyset page; filters: status, doctorId, serviceId, from/to (slot date). */
+    @GetMapping("/appointments/page")
+    public ResponseEntity<PageResponse<AppointmentResponse>> getAppointmentsPage(
+            AdminAppointmentFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(appointmentService.getAppointmentsPageForAdmin(filter, cursor, size));
+    }
+
+    @GetMapping("/appointments/count")
+    public ResponseEntity<AppointmentCountResponse> countAppointments(AdminAppointmentFilter filter) {
+        return ResponseEntity.ok(appointmentService.countAppointmentsForAdmin(filter));
+    }
+
+    @PutMapping("/appointments/status")
+    public ResponseEntity<List<BulkStatusResult>> updateAppointmentStatuses(
+            @Valid @RequestBody BulkStatusRequest request) {
+        return ResponseEntity.ok(appointmentService.updateStatusesByAdmin(request));
+    }
+
     @PutMapping("/appointments/{appointmentId}/status")
     public ResponseEntity<AppointmentResponse> updateAppointmentStatus(
             @PathVariable Long appointmentId,
@@ -26,6 +26,13 @@ public class AppointmentController {
                 .body(appointmentService.book(principal.getUserId(), request));
     }
 
+    @PostMapping("/book-batch")
+    public ResponseEntity<List<AppointmentResponse>> bookBatch(@AuthenticationPrincipal UserPrincipal principal,
+                                                               @Valid @RequestBody BatchBookingRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(appointmentService.bookBatch(principal.getUserId(), request));
+    }
+
     @GetMapping("/my")
     public ResponseEntity<List<AppointmentResponse>> myAppointments(@AuthenticationPrincipal UserPrincipal principal) {
         return ResponseEntity.ok(appointmentService.getMyAppointments(principal.getUserId()));
@@ -1,13 +1,14 @@
 package com.appointment.booking.controller;
 
-import com.appointment.booking.dto.DoctorResponse;
+import com.appointment.booking.repository.AppointmentServiceRepository;
 import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/doctors")
@@ -15,36 +16,27 @@ import java.util.stream.Collectors;
 public class DoctorController {
 
     private final DoctorRepository doctorRepository;
+    private final AppointmentServiceRepository appointmentServiceRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @GetMapping
-    public ResponseEntity<List<DoctorResponse>> listAllDoctors() {
-        List<DoctorResponse> list = doctorRepository.findAllByOrderByServiceIdAscNameAsc().stream()
-                .map(d -> DoctorResponse.builder()
-                        .id(d.getId())
-                        .name(d.getName())
-                        .title(d.getTitle())
-                        .serviceId(d.getService().getId())
-                        .serviceName(d.getService().getName())
-                        .weekdaySlotCount(d.getWeekdaySlotCount())
-                        .weekendSlotCount(d.getWeekendSlotCount())
-                        .build())
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(list);
+    public ResponseEntity<byte[]> listAllDoctors(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.get("doctors", doctorRepository::findAllResponses)
+                .toResponse(ifNoneMatch);
     }
 
     @GetMapping("/by-service/{serviceId}")
-    public ResponseEntity<List<DoctorResponse>> listByService(@PathVariable Long serviceId) {
-        List<DoctorResponse> list = doctorRepository.findByServiceIdOrderByName(serviceId).stream()
-                .map(d -> DoctorResponse.builder()
-                        .id(d.getId())
-                        .name(d.getName())
-                        .title(d.getTitle())
-                        .serviceId(d.getService().getId())
-                        .serviceName(d.getService().getName())
-                        .weekdaySlotCount(d.getWeekdaySlotCount())
-                        .weekendSlotCount(d.getWeekendSlotCount())
-                        .build())
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(list);
+    public ResponseEntity<byte[]> listByService(
+            @PathVariable Long serviceId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String key = "doctors:service:" + serviceId;
+        // Only existing services get an entry, so arbitrary ids cannot grow the cache
+        if (!referenceDataCache.contains(key) && !appointmentServiceRepository.existsById(serviceId)) {
+            return referenceDataCache.uncached(List.of()).toResponse(ifNoneMatch);
+        }
+        return referenceDataCache.get(key,
+                        () -> doctorRepository.findResponsesByServiceId(serviceId))
+                .toResponse(ifNoneMatch);
     }
 }
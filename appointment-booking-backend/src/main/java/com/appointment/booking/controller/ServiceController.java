@@ -1,33 +1,27 @@
 package com.appointment.booking.controller;
 
-import com.appointment.booking.dto.ServiceResponse;
-import com.appointment.booking.entity.AppointmentService;
 import com.appointment.booking.repository.AppointmentServiceRepository;
+import com.appointment.booking.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/services")
 @RequiredArgsConstructor
 public class ServiceController {
 
     private final AppointmentServiceRepository appointmentServiceRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @GetMapping
-    public ResponseEntity<List<ServiceResponse>> listServices() {
-        List<ServiceResponse> list = appointmentServiceRepository.findAll().stream()
-                .map(s -> ServiceResponse.builder()
-                        .id(s.getId())
-                        .name(s.getName())
-                        .description(s.getDescription())
-                        .build())
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(list);
+    public ResponseEntity<byte[]> listServices(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.get("services", appointmentServiceRepository::findAllResponses)
+                .toResponse(ifNoneMatch);
     }
 }
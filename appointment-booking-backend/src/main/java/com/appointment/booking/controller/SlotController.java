@@ -1,13 +1,23 @@
 package com.appointment.booking.controller;
 
+import com.appointment.booking.dto.AvailabilitySummaryResponse;
+import com.appointment.booking.dto.PageResponse;
+import com.appointment.booking.dto.SlotHoldResponse;
 import com.appointment.booking.dto.SlotResponse;
+import com.appointment.booking.security.UserPrincipal;
+import com.appointment.booking.service.SlotChangeBroadcaster;
 import com.appointment.booking.service.SlotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,6 +26,7 @@ import java.util.List;
 public class SlotController {
 
     private final SlotService slotService;
+    private final SlotChangeBroadcaster slotChangeBroadcaster;
 
     @GetMapping("/available")
     public ResponseEntity<List<SlotResponse>> getAvailableSlots(
@@ -25,6 +36,49 @@ public class SlotController {
         return ResponseEntity.ok(slotService.getAvailableSlots(doctorId, date));
     }
 
+    /** Keyset-paginated available slots from {@code from} (default today); follow {@code nextCursor} for the next page. */
+    @GetMapping("/available/page")
+    public ResponseEntity<PageResponse<SlotResponse>> getAvailableSlotsPage(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(slotService.getAvailableSlotsPage(doctorId, date, from, cursor, size));
+    }
+
+    /** Every available slot from {@code from} (default today) as newline-delimited JSON, one slot per line. */
+    @GetMapping(value = "/available/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAvailableSlots(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        StreamingResponseBody body = out -> slotService.streamAvailableSlots(from, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /** Earliest free slots across every doctor of a service, at or after {@code after} (default now). */
+    @GetMapping("/next-available")
+    public ResponseEntity<List<SlotResponse>> getNextAvailable(
+            @RequestParam Long serviceId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(slotService.getNextAvailable(serviceId, after, limit));
+    }
+
+    /** Free and booked slot counts per day and doctor of a service in [from, to], e.g. a calendar month. */
+    @GetMapping("/summary")
+    public ResponseEntity<List<AvailabilitySummaryResponse>> getAvailabilitySummary(
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(slotService.getAvailabilitySummary(serviceId, from, to));
+    }
+
     /** All slots for a doctor on a date; available=false means slot is already booked. */
     @GetMapping("/by-date")
     public ResponseEntity<List<SlotResponse>> getSlotsByDate(
@@ -32,4 +86,41 @@ public class SlotController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return ResponseEntity.ok(slotService.getSlotsForDate(doctorId, date));
     }
+
+    /**
+     * Server-Sent Events for one doctor's day: a {@code slot} event per committed availability change,
+     * or {@code resync} if this client fell behind and should reload {@code /by-date}.
+     * Browsers can use {@code new EventSource("/api/slots/changes?doctorId=1&date=2025-01-06&access_token=<jwt>")},
+     * since EventSource cannot send an Authorization header; other clients should send the header instead.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToChanges(
+            @RequestParam Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return slotChangeBroadcaster.subscribe(doctorId, date);
+    }
+
+    /** All slots for a doctor between two dates (inclusive, at most 31 days), e.g. a calendar week. */
+    @GetMapping("/by-range")
+    public ResponseEntity<List<SlotResponse>> getSlotsByRange(
+            @RequestParam Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(slotService.getSlotsForRange(doctorId, from, to));
+    }
+
+    /** Reserves the slot for the caller while they complete the booking form; booking it consumes the hold. */
+    @PostMapping("/{slotId}/hold")
+    public ResponseEntity<SlotHoldResponse> holdSlot(@AuthenticationPrincipal UserPrincipal principal,
+                                                     @PathVariable Long slotId,
+                                                     @RequestParam(required = false) Integer seconds) {
+        return ResponseEntity.ok(slotService.holdSlot(principal.getUserId(), slotId, seconds));
+    }
+
+    @DeleteMapping("/{slotId}/hold")
+    public ResponseEntity<Void> releaseHold(@AuthenticationPrincipal UserPrincipal principal,
+                                            @PathVariable Long slotId) {
+        slotService.releaseHold(principal.getUserId(), slotId);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,15 @@
+package com.appointment.booking.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AppointmentCountResponse {
+    private long total;
+    private Map<String, Long> byStatus;
+}
@@ -27,4 +27,13 @@ public class AppointmentResponse {
     private LocalTime endTime;
     private String status;
     private Instant createdAt;
+
+    /** Target of the JPQL constructor projections in AppointmentRepository; takes the persisted status enum. */
+    public AppointmentResponse(Long id, Long userId, String userName, String userEmail, Long slotId,
+                               Long serviceId, Long doctorId, String serviceName, String doctorName,
+                               LocalDate slotDate, LocalTime startTime, LocalTime endTime,
+                               Appointment.AppointmentStatus status, Instant createdAt) {
+        this(id, userId, userName, userEmail, slotId, serviceId, doctorId, serviceName, doctorName,
+                slotDate, startTime, endTime, status.name(), createdAt);
+    }
 }
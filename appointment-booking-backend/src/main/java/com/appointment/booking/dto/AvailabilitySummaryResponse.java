@@ -0,0 +1,18 @@
+package com.appointment.booking.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+
+/** Free and booked slot counts for one doctor on one day. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilitySummaryResponse {
+    private LocalDate slotDate;
+    private Long doctorId;
+    private String doctorName;
+    private Long freeSlots;
+    private Long bookedSlots;
+}
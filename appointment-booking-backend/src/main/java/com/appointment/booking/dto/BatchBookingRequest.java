@@ -0,0 +1,19 @@
+package com.appointment.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchBookingRequest {
+    @NotEmpty(message = "At least one slot ID is required")
+    @Size(max = 10, message = "At most 10 slots can be booked at once")
+    private List<@NotNull(message = "Slot ID is required") Long> slotIds;
+}
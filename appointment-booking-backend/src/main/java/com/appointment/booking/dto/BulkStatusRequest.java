@@ -0,0 +1,23 @@
+package com.appointment.booking.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusRequest {
+    @NotEmpty(message = "At least one appointment ID is required")
+    @Size(max = 1000, message = "At most 1000 appointments can be updated at once")
+    private List<@NotNull(message = "Appointment ID is required") Long> appointmentIds;
+
+    @NotBlank(message = "Status is required (APPROVED or REJECTED)")
+    private String status;
+}
@@ -0,0 +1,18 @@
+package com.appointment.booking.dto;
+
+import lombok.*;
+
+/**
+ * Outcome for one id of a bulk status update: UPDATED, SKIPPED (transition not allowed from the current status)
+ * or NOT_FOUND. {@code status} is the appointment's status after the call.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusResult {
+    private Long appointmentId;
+    private String result;
+    private String status;
+}
@@ -0,0 +1,16 @@
+package com.appointment.booking.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/** One page of a keyset-paginated listing; pass {@code nextCursor} back to get the following page (null on the last page). */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.appointment.booking.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotHoldResponse {
+    private Long slotId;
+    private Instant expiresAt;
+}
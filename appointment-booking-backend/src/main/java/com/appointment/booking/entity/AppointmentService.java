@@ -1,13 +1,19 @@
 package com.appointment.booking.entity;
 
+import com.appointment.booking.service.ReferenceDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "services")
+@EntityListeners(ReferenceDataChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "services")
 @Getter
 @Setter
 @NoArgsConstructor
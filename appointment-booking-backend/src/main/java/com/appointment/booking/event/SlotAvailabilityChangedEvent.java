@@ -0,0 +1,19 @@
+package com.appointment.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published inside booking transactions; listeners run after commit so they only ever see committed state.
+ */
+@Getter
+@AllArgsConstructor
+public class SlotAvailabilityChangedEvent {
+    private final List<SlotChange> changes;
+
+    public static SlotAvailabilityChangedEvent of(SlotChange... changes) {
+        return new SlotAvailabilityChangedEvent(List.of(changes));
+    }
+}
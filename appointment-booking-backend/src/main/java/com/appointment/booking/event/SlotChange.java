@@ -0,0 +1,28 @@
+package com.appointment.booking.event;
+
+import com.appointment.booking.entity.Slot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A single slot whose availability flag was created or flipped.
+ * Carries enough slot data that in-memory listeners never need to reload the row.
+ */
+@Getter
+@AllArgsConstructor
+public class SlotChange {
+    private final Long slotId;
+    private final Long doctorId;
+    private final LocalDate slotDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final boolean available;
+
+    public static SlotChange of(Slot slot, boolean available) {
+        return new SlotChange(slot.getId(), slot.getDoctor().getId(), slot.getSlotDate(),
+                slot.getStartTime(), slot.getEndTime(), available);
+    }
+}
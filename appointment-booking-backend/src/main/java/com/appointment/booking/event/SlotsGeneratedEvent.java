@@ -0,0 +1,17 @@
+package com.appointment.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Published after bulk slot generation inserted rows for the given date range.
+ */
+@Getter
+@AllArgsConstructor
+public class SlotsGeneratedEvent {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int insertedCount;
+}
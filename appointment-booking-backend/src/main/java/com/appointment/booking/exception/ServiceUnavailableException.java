@@ -0,0 +1,10 @@
+package com.appointment.booking.exception;
+
+/**
+ * The server is shedding load for this kind of request; reported as 503 with a Retry-After hint.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.appointment.booking.exception;
+
+/**
+ * The requested slot was taken by someone else; reported as 409 Conflict.
+ */
+public class SlotConflictException extends BadRequestException {
+
+    /** The contested slot, when known; used to attribute the conflict to a doctor in metrics. */
+    private final Long slotId;
+
+    public SlotConflictException(String message) {
+        this(message, null);
+    }
+
+    public SlotConflictException(String message, Long slotId) {
+        super(message);
+        this.slotId = slotId;
+    }
+
+    public Long getSlotId() {
+        return slotId;
+    }
+}
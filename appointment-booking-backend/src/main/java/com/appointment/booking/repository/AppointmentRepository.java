@@ -1,15 +1,97 @@
 package com.appointment.booking.repository;
 
+import com.appointment.booking.dto.AppointmentResponse;
 import com.appointment.booking.entity.Appointment;
 import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+
+    /** Projection shared by the read paths: appointment, user, slot, doctor and service in one joined select. */
+    String RESPONSE_SELECT = "select new com.appointment.booking.dto.AppointmentResponse(" +
+            "a.id, u.id, u.name, u.email, s.id, sv.id, d.id, sv.name, d.name, " +
+            "s.slotDate, s.startTime, s.endTime, a.status, a.createdAt) " +
+            "from Appointment a join a.user u join a.slot s join s.doctor d join d.service sv ";
+
     List<Appointment> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<Appointment> findAllByOrderByCreatedAtDesc();
     boolean existsBySlotIdAndStatusIn(Long slotId, List<AppointmentStatus> statuses);
+
+    @Query("select a.slot.id from Appointment a where a.slot.id in :slotIds and a.status in :activeStatuses")
+    List<Long> findSlotIdsWithStatusIn(@Param("slotIds") Collection<Long> slotIds,
+                                       @Param("activeStatuses") Collection<AppointmentStatus> activeStatuses);
+
+    @Query(RESPONSE_SELECT + "where s.id in :slotIds and a.status in :activeStatuses order by s.slotDate, s.startTime")
+    List<AppointmentResponse> findResponsesBySlotIds(@Param("slotIds") Collection<Long> slotIds,
+                                                     @Param("activeStatuses") Collection<AppointmentStatus> activeStatuses);
+
+    String ADMIN_FILTERS = "(:status is null or a.status = :status) " +
+            "and (:doctorId is null or d.id = :doctorId) and (:serviceId is null or d.service.id = :serviceId) " +
+            "and (:fromDate is null or s.slotDate >= :fromDate) and (:toDate is null or s.slotDate <= :toDate) ";
+
+    @Query(RESPONSE_SELECT + "where u.id = :userId order by a.createdAt desc, a.id desc")
+    List<AppointmentResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query(RESPONSE_SELECT + "order by a.createdAt desc, a.id desc")
+    List<AppointmentResponse> findAllResponses();
+
+    /**
+     * Keyset page for the admin listing ordered by (createdAt desc, id desc), starting strictly before the given key.
+     * Every filter is optional; the page size comes from the Pageable.
+     */
+    @Query(RESPONSE_SELECT + "where " + ADMIN_FILTERS +
+            "and (a.createdAt < :beforeCreatedAt or (a.createdAt = :beforeCreatedAt and a.id < :beforeId)) " +
+            "order by a.createdAt desc, a.id desc")
+    List<AppointmentResponse> findAdminPage(@Param("status") AppointmentStatus status,
+                                            @Param("doctorId") Long doctorId,
+                                            @Param("serviceId") Long serviceId,
+                                            @Param("fromDate") LocalDate fromDate,
+                                            @Param("toDate") LocalDate toDate,
+                                            @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                            @Param("beforeId") Long beforeId,
+                                            Pageable pageable);
+
+    /** Rows of [status, count] for the same filters, without loading any appointment. */
+    @Query("select a.status, count(a) from Appointment a join a.slot s join s.doctor d " +
+            "where " + ADMIN_FILTERS + "group by a.status")
+    List<Object[]> countForAdminByStatus(@Param("status") AppointmentStatus status,
+                                         @Param("doctorId") Long doctorId,
+                                         @Param("serviceId") Long serviceId,
+                                         @Param("fromDate") LocalDate fromDate,
+                                         @Param("toDate") LocalDate toDate);
+
+    /** Moves every appointment in {@code active} whose slot ended before (today, time) to {@code target} in one statement. */
+    @Modifying
+    @Query("update Appointment a set a.status = :target, a.updatedAt = :now " +
+            "where a.status in :active and a.slot.id in (select s.id from Slot s " +
+            "where s.slotDate < :today or (s.slotDate = :today and s.endTime < :time))")
+    int completeEnded(@Param("target") AppointmentStatus target,
+                      @Param("active") Collection<AppointmentStatus> active,
+                      @Param("today") LocalDate today,
+                      @Param("time") LocalTime time,
+                      @Param("now") Instant now);
+
+    /** (id, status, slotId, doctorId, slotDate, startTime, endTime) for each existing id. */
+    @Query("select a.id, a.status, s.id, s.doctor.id, s.slotDate, s.startTime, s.endTime " +
+            "from Appointment a join a.slot s where a.id in :ids")
+    List<Object[]> findStatusRows(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Appointment a set a.status = :target, a.updatedAt = :now where a.id in :ids and a.status in :from")
+    int updateStatuses(@Param("ids") Collection<Long> ids,
+                       @Param("from") Collection<AppointmentStatus> from,
+                       @Param("target") AppointmentStatus target,
+                       @Param("now") Instant now);
 }
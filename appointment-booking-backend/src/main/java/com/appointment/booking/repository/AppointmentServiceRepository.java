@@ -1,9 +1,17 @@
 package com.appointment.booking.repository;
 
+import com.appointment.booking.dto.ServiceResponse;
 import com.appointment.booking.entity.AppointmentService;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AppointmentServiceRepository extends JpaRepository<AppointmentService, Long> {
+
+    @Query("select new com.appointment.booking.dto.ServiceResponse(s.id, s.name, s.description) "
+            + "from AppointmentService s order by s.id")
+    List<ServiceResponse> findAllResponses();
 }
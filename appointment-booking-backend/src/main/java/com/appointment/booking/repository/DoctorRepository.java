@@ -1,13 +1,44 @@
 package com.appointment.booking.repository;
 
+import com.appointment.booking.dto.DoctorResponse;
 import com.appointment.booking.entity.Doctor;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    /** Result ids are kept in the query cache; the doctors themselves come from the second-level cache. */
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "doctor-queries")
+    })
     List<Doctor> findByServiceIdOrderByName(Long serviceId);
+
     List<Doctor> findAllByOrderByServiceIdAscNameAsc();
+
+    String RESPONSE_SELECT = "select new com.appointment.booking.dto.DoctorResponse("
+            + "d.id, d.name, d.title, s.id, s.name, d.weekdaySlotCount, d.weekendSlotCount) "
+            + "from Doctor d join d.service s ";
+
+    @Query(RESPONSE_SELECT + "order by s.id, d.name")
+    List<DoctorResponse> findAllResponses();
+
+    @Query(RESPONSE_SELECT + "where s.id = :serviceId order by d.name")
+    List<DoctorResponse> findResponsesByServiceId(@Param("serviceId") Long serviceId);
+
+    @Query("select d from Doctor d join fetch d.service")
+    List<Doctor> findAllWithService();
+
+    @Query("select d from Doctor d join fetch d.service where d.id = :id")
+    Optional<Doctor> findWithServiceById(@Param("id") Long id);
 }
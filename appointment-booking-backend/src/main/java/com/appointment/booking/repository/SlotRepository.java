@@ -1,12 +1,25 @@
 package com.appointment.booking.repository;
 
+import com.appointment.booking.dto.AvailabilitySummaryResponse;
+import com.appointment.booking.dto.SlotResponse;
+import com.appointment.booking.entity.Appointment.AppointmentStatus;
 import com.appointment.booking.entity.Slot;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface SlotRepository extends JpaRepository<Slot, Long> {
@@ -21,4 +34,120 @@ public interface SlotRepository extends JpaRepository<Slot, Long> {
     List<Slot> findByDoctorIdAndSlotDateOrderByStartTime(Long doctorId, LocalDate slotDate);
 
     boolean existsByDoctorIdAndSlotDateAndStartTime(Long doctorId, LocalDate slotDate, LocalTime startTime);
+
+    /**
+     * Atomically takes a free slot. Returns 1 if this caller flipped it to unavailable, 0 if it was already taken
+     * (or does not exist); the row lock taken by the UPDATE serialises concurrent claimers.
+     */
+    @Modifying
+    @Query("update Slot s set s.available = false where s.id = :id and s.available = true")
+    int claim(@Param("id") Long id);
+
+    /** Bulk form of {@link #claim}: returns how many of {@code ids} were free and are now taken. */
+    @Modifying
+    @Query("update Slot s set s.available = false where s.id in :ids and s.available = true")
+    int claimAll(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Slot s set s.available = true where s.id in :ids")
+    int releaseAll(@Param("ids") Collection<Long> ids);
+
+    /**
+     * All slots of a doctor in a date range, with available=false when an appointment in one of
+     * {@code activeStatuses} holds the slot. Doctor, service and booked state come from a single grouped select.
+     */
+    @Query("select new com.appointment.booking.dto.SlotResponse(s.id, d.id, d.name, sv.id, sv.name, " +
+            "s.slotDate, s.startTime, s.endTime, case when count(a.id) = 0 then true else false end) " +
+            "from Slot s join s.doctor d join d.service sv " +
+            "left join Appointment a on a.slot = s and a.status in :activeStatuses " +
+            "where d.id = :doctorId and s.slotDate between :from and :to " +
+            "group by s.id, d.id, d.name, sv.id, sv.name, s.slotDate, s.startTime, s.endTime " +
+            "order by s.slotDate, s.startTime")
+    List<SlotResponse> findSlotStatesForDoctor(@Param("doctorId") Long doctorId,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               @Param("activeStatuses") Collection<AppointmentStatus> activeStatuses);
+
+    /**
+     * Per day and doctor of a service, how many slots are free and how many are held by an appointment in
+     * {@code activeStatuses}, from one grouped select. Slots of completed appointments count as neither.
+     */
+    @Query("select new com.appointment.booking.dto.AvailabilitySummaryResponse(s.slotDate, d.id, d.name, " +
+            "sum(case when a.id is null and s.available = true then 1 else 0 end), " +
+            "sum(case when a.id is null then 0 else 1 end)) " +
+            "from Slot s join s.doctor d " +
+            "left join Appointment a on a.slot = s and a.status in :activeStatuses " +
+            "where d.service.id = :serviceId and s.slotDate between :from and :to " +
+            "group by s.slotDate, d.id, d.name " +
+            "order by s.slotDate, d.name, d.id")
+    List<AvailabilitySummaryResponse> summarizeForService(@Param("serviceId") Long serviceId,
+                                                          @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to,
+                                                          @Param("activeStatuses") Collection<AppointmentStatus> activeStatuses);
+
+    /** Available slots as responses in one joined select; doctorId and date are optional filters. */
+    @Query("select new com.appointment.booking.dto.SlotResponse(s.id, d.id, d.name, sv.id, sv.name, " +
+            "s.slotDate, s.startTime, s.endTime, s.available) " +
+            "from Slot s join s.doctor d join d.service sv " +
+            "where s.available = true " +
+            "and (:doctorId is null or d.id = :doctorId) and (:date is null or s.slotDate = :date) " +
+            "order by s.slotDate, s.startTime, s.id")
+    List<SlotResponse> findAvailableResponses(@Param("doctorId") Long doctorId, @Param("date") LocalDate date);
+
+    /**
+     * Keyset page of available slots ordered by (slotDate, startTime, id), starting strictly after the given key.
+     * doctorId and date are optional filters; the page size comes from the Pageable.
+     */
+    @Query("select new com.appointment.booking.dto.SlotResponse(s.id, d.id, d.name, sv.id, sv.name, " +
+            "s.slotDate, s.startTime, s.endTime, s.available) " +
+            "from Slot s join s.doctor d join d.service sv " +
+            "where s.available = true " +
+            "and (:doctorId is null or d.id = :doctorId) and (:date is null or s.slotDate = :date) " +
+            "and (s.slotDate > :afterDate or (s.slotDate = :afterDate and " +
+            "(s.startTime > :afterTime or (s.startTime = :afterTime and s.id > :afterId)))) " +
+            "order by s.slotDate, s.startTime, s.id")
+    List<SlotResponse> findAvailablePage(@Param("doctorId") Long doctorId,
+                                         @Param("date") LocalDate date,
+                                         @Param("afterDate") LocalDate afterDate,
+                                         @Param("afterTime") LocalTime afterTime,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    /** Earliest available slots of a service starting at or after (date, time); the limit comes from the Pageable. */
+    @Query("select new com.appointment.booking.dto.SlotResponse(s.id, d.id, d.name, sv.id, sv.name, " +
+            "s.slotDate, s.startTime, s.endTime, s.available) " +
+            "from Slot s join s.doctor d join d.service sv " +
+            "where s.available = true and sv.id = :serviceId " +
+            "and (s.slotDate > :date or (s.slotDate = :date and s.startTime >= :time)) " +
+            "order by s.slotDate, s.startTime, s.id")
+    List<SlotResponse> findNextAvailableForService(@Param("serviceId") Long serviceId,
+                                                   @Param("date") LocalDate date,
+                                                   @Param("time") LocalTime time,
+                                                   Pageable pageable);
+
+    /** Available slots from a date onward, streamed with a JDBC fetch size; the caller must hold a transaction. */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select s from Slot s join fetch s.doctor d join fetch d.service " +
+            "where s.available = true and s.slotDate >= :from order by s.slotDate, s.startTime, s.id")
+    Stream<Slot> streamAvailableFrom(@Param("from") LocalDate from);
+
+    /** Rows of [id, doctorId, slotDate, startTime, endTime, available] used to build the in-memory index. */
+    @Query("select s.id, s.doctor.id, s.slotDate, s.startTime, s.endTime, s.available from Slot s")
+    List<Object[]> findAllSlotStates();
+
+    @Query("select s.id, s.doctor.id, s.slotDate, s.startTime, s.endTime, s.available from Slot s " +
+            "where s.slotDate between :from and :to")
+    List<Object[]> findSlotStatesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select s.id from Slot s where s.available = true")
+    List<Long> findAvailableSlotIds();
+
+    /** Rows of [doctorId, slotDate, startTime] for every slot in the range; used to skip existing slots during generation. */
+    @Query("select s.doctor.id, s.slotDate, s.startTime from Slot s where s.slotDate between :from and :to")
+    List<Object[]> findSlotKeysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Rows of [slotDate, number of doctors with at least one slot that day] for days in the range that have slots. */
+    @Query("select s.slotDate, count(distinct s.doctor.id) from Slot s " +
+            "where s.slotDate between :from and :to group by s.slotDate")
+    List<Object[]> countDoctorsWithSlotsPerDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -1,5 +1,7 @@
 package com.appointment.booking.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,33 +16,62 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    /** Browsers' EventSource cannot set headers, so this stream also accepts the token as a query parameter. */
+    static final String EVENT_STREAM_PATH = "/api/slots/changes";
+    static final String TOKEN_PARAM = "access_token";
+
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final MeterRegistry meterRegistry;
+
+    /** Permit-all routes (see SecurityConfig) never look at the token. */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || path.startsWith("/api/auth/");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
+        String token = resolveToken(request);
+        if (token != null) {
             try {
-                var claims = jwtUtil.parseToken(token);
-                String email = claims.getSubject();
-                String role = claims.get("role", String.class);
-                Long userId = claims.get("userId", Long.class);
+                UserPrincipal principal = verifiedTokenCache.get(token);
+                if (principal == null) {
+                    Claims claims = jwtUtil.parseToken(token);
+                    principal = new UserPrincipal(claims.get("userId", Long.class), claims.getSubject(),
+                            claims.get("role", String.class));
+                    if (claims.getExpiration() != null) {
+                        verifiedTokenCache.put(token, principal, claims.getExpiration().getTime());
+                    }
+                }
                 List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + role));
-                var auth = new UsernamePasswordAuthenticationToken(
-                        new UserPrincipal(userId, email, role), null, authorities);
+                        new SimpleGrantedAuthority("ROLE_" + principal.getRole()));
+                var auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(auth);
-            } catch (Exception ignored) {
+            } catch (Exception e) {
+                meterRegistry.counter("jwt.verification.failures", "reason", e.getClass().getSimpleName()).increment();
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private static String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(EVENT_STREAM_PATH)) {
+            String token = request.getParameter(TOKEN_PARAM);
+            return token == null || token.isBlank() ? null : token;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,93 @@
+package com.appointment.booking.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size-bounded cache of tokens whose signature has already been verified, keyed by the SHA-256 digest of the token
+ * so raw tokens are never retained. Each entry expires together with its token.
+ * Backed by Caffeine, so lookups on the request path take no shared lock.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Cache<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(@Value("${app.jwt.cache.max-entries:10000}") int maxEntries, MeterRegistry registry) {
+        this.maxEntries = maxEntries;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxEntries, 0))
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return remainingNanos(entry);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return remainingNanos(entry);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.hits = Counter.builder("jwt.verification.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("jwt.verification.cache").tag("result", "miss").register(registry);
+        Gauge.builder("jwt.verification.cache.size", this, VerifiedTokenCache::size).register(registry);
+    }
+
+    /** Returns the cached principal, or null (counted as a miss) if absent or expired. */
+    public UserPrincipal get(String token) {
+        Entry entry = entries.getIfPresent(digest(token));
+        UserPrincipal principal = entry != null && System.currentTimeMillis() < entry.expiresAtMs
+                ? entry.principal : null;
+        (principal != null ? hits : misses).increment();
+        return principal;
+    }
+
+    public void put(String token, UserPrincipal principal, long expiresAtMs) {
+        if (maxEntries <= 0 || expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+        entries.put(digest(token), new Entry(principal, expiresAtMs));
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    private static long remainingNanos(Entry entry) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expiresAtMs - System.currentTimeMillis()));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAtMs) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import com.appointment.booking.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Background sweeper that moves PENDING/APPROVED appointments whose slot has ended to COMPLETED,
+ * one bulk UPDATE per tick. Read paths only derive the displayed status and never write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppointmentAutoCompleter {
+
+    private static final List<AppointmentStatus> ACTIVE_STATUSES =
+            List.of(AppointmentStatus.PENDING, AppointmentStatus.APPROVED);
+
+    private final AppointmentRepository appointmentRepository;
+
+    @Scheduled(fixedDelayString = "${app.auto-complete.interval-ms:60000}")
+    @Transactional
+    public int sweep() {
+        int completed = appointmentRepository.completeEnded(AppointmentStatus.COMPLETED, ACTIVE_STATUSES,
+                LocalDate.now(), LocalTime.now(), Instant.now());
+        if (completed > 0) {
+            log.info("Auto-completed {} ended appointments", completed);
+        }
+        return completed;
+    }
+}
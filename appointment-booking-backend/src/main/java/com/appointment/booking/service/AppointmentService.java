@@ -7,9 +7,14 @@ import java.util.List;
 
 public interface AppointmentService {
     AppointmentResponse book(Long userId, BookAppointmentRequest request);
+    List<AppointmentResponse> bookBatch(Long userId, BatchBookingRequest request);
     List<AppointmentResponse> getMyAppointments(Long userId);
     void cancel(Long userId, Long appointmentId);
     AppointmentResponse reschedule(Long userId, Long appointmentId, RescheduleRequest request);
     List<AppointmentResponse> getAllAppointmentsForAdmin();
+    /** Keyset page of appointments, newest first, with optional status/doctor/service/slot-date filters. */
+    PageResponse<AppointmentResponse> getAppointmentsPageForAdmin(AdminAppointmentFilter filter, String cursor, Integer size);
+    AppointmentCountResponse countAppointmentsForAdmin(AdminAppointmentFilter filter);
     AppointmentResponse updateStatusByAdmin(Long appointmentId, AppointmentStatusRequest request);
+    List<BulkStatusResult> updateStatusesByAdmin(BulkStatusRequest request);
 }
@@ -5,45 +5,78 @@ import com.appointment.booking.entity.Appointment;
 import com.appointment.booking.entity.Appointment.AppointmentStatus;
 import com.appointment.booking.entity.Slot;
 import com.appointment.booking.entity.User;
+import com.appointment.booking.event.SlotAvailabilityChangedEvent;
+import com.appointment.booking.event.SlotChange;
 import com.appointment.booking.exception.BadRequestException;
 import com.appointment.booking.exception.ResourceNotFoundException;
+import com.appointment.booking.exception.SlotConflictException;
 import com.appointment.booking.repository.AppointmentRepository;
 import com.appointment.booking.repository.SlotRepository;
 import com.appointment.booking.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 
 @Service
+@Timed(value = "appointments.service", histogram = true)
 @RequiredArgsConstructor
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final List<AppointmentStatus> ACTIVE_STATUSES =
+            List.of(AppointmentStatus.PENDING, AppointmentStatus.APPROVED);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String INSERT_APPOINTMENT_SQL =
+            "INSERT INTO appointments (user_id, slot_id, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
     private final AppointmentRepository appointmentRepository;
     private final SlotRepository slotRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotLocks slotLocks;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * Losers of a race for the same slot are turned away by the in-process slot lock or the availability index
+     * without a database round trip; across instances the conditional claim UPDATE guarantees a single winner.
+     * A caller holding a valid hold on the slot skips those checks and goes straight to the claim.
+     */
     @Override
     @Transactional
     public AppointmentResponse book(Long userId, BookAppointmentRequest request) {
+        Long slotId = request.getSlotId();
+        boolean holding = slotHoldRegistry.isHeldBy(slotId, userId);
+        if (!holding) {
+            if (slotHoldRegistry.isHeldByOther(slotId, userId)) {
+                throw new SlotConflictException("This slot is no longer available", slotId);
+            }
+            slotLocks.lockForTransaction(slotId);
+            if (slotAvailabilityIndex.isKnownUnavailable(slotId)) {
+                throw new SlotConflictException("This slot is no longer available", slotId);
+            }
+        }
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        Slot slot = slotRepository.findById(request.getSlotId())
-                .orElseThrow(() -> new ResourceNotFoundException("Slot not found with id: " + request.getSlotId()));
-        boolean alreadyBooked = appointmentRepository.existsBySlotIdAndStatusIn(
-                slot.getId(), Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.APPROVED));
-        if (alreadyBooked) {
-            throw new BadRequestException("This slot is no longer available");
-        }
-
-        if (!slot.isAvailable()) {
-            throw new BadRequestException("This slot is no longer available");
+        if (!holding) {
+            boolean alreadyBooked = appointmentRepository.existsBySlotIdAndStatusIn(slotId, ACTIVE_STATUSES);
+            if (alreadyBooked) {
+                throw new SlotConflictException("This slot is no longer available", slotId);
+            }
         }
+        Slot slot = claimSlot(slotId, "This slot is no longer available");
 
         Appointment appointment = Appointment.builder()
                 .user(user)
@@ -51,17 +84,74 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .status(AppointmentStatus.PENDING)
                 .build();
         appointment = appointmentRepository.save(appointment);
-
-        slot.setAvailable(false);
-        slotRepository.save(slot);
+        slotHoldRegistry.releaseAfterCommit(List.of(slotId), userId);
+        eventPublisher.publishEvent(SlotAvailabilityChangedEvent.of(SlotChange.of(slot, false)));
 
         return toResponse(appointment);
     }
 
+    /**
+     * Books every requested slot or none: one select for the slots, one for their active appointments,
+     * one bulk claim UPDATE and one JDBC batch insert, all in a single transaction.
+     * Slots held by the caller are allowed; a slot held by anyone else fails the whole batch.
+     */
     @Override
+    @Transactional
+    public List<AppointmentResponse> bookBatch(Long userId, BatchBookingRequest request) {
+        List<Long> slotIds = new ArrayList<>(new LinkedHashSet<>(request.getSlotIds()));
+        for (Long slotId : slotIds) {
+            if (slotHoldRegistry.isHeldByOther(slotId, userId)) {
+                throw new SlotConflictException("Slot " + slotId + " is no longer available", slotId);
+            }
+        }
+        slotLocks.lockForTransaction(slotIds.toArray(new Long[0]));
+        for (Long slotId : slotIds) {
+            if (!slotHoldRegistry.isHeldBy(slotId, userId) && slotAvailabilityIndex.isKnownUnavailable(slotId)) {
+                throw new SlotConflictException("Slot " + slotId + " is no longer available", slotId);
+            }
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        List<Slot> slots = slotRepository.findAllById(slotIds);
+        if (slots.size() != slotIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(slotIds);
+            slots.forEach(slot -> missing.remove(slot.getId()));
+            throw new ResourceNotFoundException("Slot not found with id: " + missing.iterator().next());
+        }
+        List<Long> booked = appointmentRepository.findSlotIdsWithStatusIn(slotIds, ACTIVE_STATUSES);
+        if (!booked.isEmpty()) {
+            throw new SlotConflictException("Slot " + booked.get(0) + " is no longer available", booked.get(0));
+        }
+        if (slotRepository.claimAll(slotIds) != slotIds.size()) {
+            throw new SlotConflictException("One or more of the selected slots are no longer available");
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(slotIds.size());
+        for (Long slotId : slotIds) {
+            rows.add(new Object[]{userId, slotId, AppointmentStatus.PENDING.name(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_APPOINTMENT_SQL, rows);
+
+        List<SlotChange> changes = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            changes.add(SlotChange.of(slot, false));
+        }
+        slotHoldRegistry.releaseAfterCommit(slotIds, userId);
+        eventPublisher.publishEvent(new SlotAvailabilityChangedEvent(changes));
+
+        List<AppointmentResponse> responses = appointmentRepository.findResponsesBySlotIds(slotIds, ACTIVE_STATUSES);
+        responses.forEach(this::applyDisplayStatus);
+        return responses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<AppointmentResponse> getMyAppointments(Long userId) {
-        return appointmentRepository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream().map(this::toResponse).collect(Collectors.toList());
+        List<AppointmentResponse> list = appointmentRepository.findResponsesByUserId(userId);
+        list.forEach(this::applyDisplayStatus);
+        return list;
     }
 
     @Override
@@ -81,6 +171,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         Slot slot = appointment.getSlot();
         slot.setAvailable(true);
         slotRepository.save(slot);
+        eventPublisher.publishEvent(SlotAvailabilityChangedEvent.of(SlotChange.of(slot, true)));
     }
 
     @Override
@@ -97,17 +188,23 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         Slot oldSlot = appointment.getSlot();
 
-        Slot newSlot = slotRepository.findById(request.getNewSlotId())
-                .orElseThrow(() -> new ResourceNotFoundException("Slot not found with id: " + request.getNewSlotId()));
-        boolean alreadyBooked = appointmentRepository.existsBySlotIdAndStatusIn(
-                newSlot.getId(), Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.APPROVED));
-        if (alreadyBooked) {
-            throw new BadRequestException("The selected slot is no longer available");
-        }
-
-        if (!newSlot.isAvailable()) {
-            throw new BadRequestException("The selected slot is no longer available");
+        Long newSlotId = request.getNewSlotId();
+        boolean holding = slotHoldRegistry.isHeldBy(newSlotId, userId);
+        if (!holding) {
+            if (slotHoldRegistry.isHeldByOther(newSlotId, userId)) {
+                throw new SlotConflictException("The selected slot is no longer available", newSlotId);
+            }
+            slotLocks.lockForTransaction(newSlotId);
+            if (slotAvailabilityIndex.isKnownUnavailable(newSlotId)) {
+                throw new SlotConflictException("The selected slot is no longer available", newSlotId);
+            }
+            boolean alreadyBooked = appointmentRepository.existsBySlotIdAndStatusIn(newSlotId, ACTIVE_STATUSES);
+            if (alreadyBooked) {
+                throw new SlotConflictException("The selected slot is no longer available", newSlotId);
+            }
         }
+        Slot newSlot = claimSlot(newSlotId, "The selected slot is no longer available");
+        slotHoldRegistry.releaseAfterCommit(List.of(newSlotId), userId);
 
         appointment.setSlot(newSlot);
         appointment.setStatus(AppointmentStatus.PENDING);
@@ -115,9 +212,8 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         oldSlot.setAvailable(true);
         slotRepository.save(oldSlot);
-
-        newSlot.setAvailable(false);
-        slotRepository.save(newSlot);
+        eventPublisher.publishEvent(SlotAvailabilityChangedEvent.of(
+                SlotChange.of(oldSlot, true), SlotChange.of(newSlot, false)));
 
         return toResponse(appointment);
     }
@@ -125,8 +221,55 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAllAppointmentsForAdmin() {
-        return appointmentRepository.findAllByOrderByCreatedAtDesc()
-                .stream().map(this::toResponse).collect(Collectors.toList());
+        List<AppointmentResponse> list = appointmentRepository.findAllResponses();
+        list.forEach(this::applyDisplayStatus);
+        return list;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<AppointmentResponse> getAppointmentsPageForAdmin(AdminAppointmentFilter filter,
+                                                                        String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Instant beforeCreatedAt;
+        long beforeId;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] key = KeysetCursor.decode(cursor, 2);
+            try {
+                beforeCreatedAt = Instant.parse(key[0]);
+                beforeId = Long.parseLong(key[1]);
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        } else {
+            beforeCreatedAt = Instant.now().plus(1, ChronoUnit.DAYS);
+            beforeId = Long.MAX_VALUE;
+        }
+        List<AppointmentResponse> rows = appointmentRepository.findAdminPage(parseStatus(filter.getStatus()),
+                filter.getDoctorId(), filter.getServiceId(), filter.getFrom(), filter.getTo(),
+                beforeCreatedAt, beforeId, PageRequest.of(0, pageSize + 1));
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            AppointmentResponse last = rows.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        rows.forEach(this::applyDisplayStatus);
+        return PageResponse.<AppointmentResponse>builder().items(rows).nextCursor(nextCursor).build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AppointmentCountResponse countAppointmentsForAdmin(AdminAppointmentFilter filter) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (Object[] row : appointmentRepository.countForAdminByStatus(parseStatus(filter.getStatus()),
+                filter.getDoctorId(), filter.getServiceId(), filter.getFrom(), filter.getTo())) {
+            long count = (Long) row[1];
+            byStatus.put(((AppointmentStatus) row[0]).name(), count);
+            total += count;
+        }
+        return AppointmentCountResponse.builder().total(total).byStatus(byStatus).build();
     }
 
     @Override
@@ -148,29 +291,121 @@ public class AppointmentServiceImpl implements AppointmentService {
             Slot slot = appointment.getSlot();
             slot.setAvailable(true);
             slotRepository.save(slot);
+            eventPublisher.publishEvent(SlotAvailabilityChangedEvent.of(SlotChange.of(slot, true)));
         }
 
         return toResponse(appointment);
     }
 
-    private AppointmentResponse toResponse(Appointment a) {
-        Slot slot = a.getSlot();
-        User user = a.getUser();
+    /**
+     * Set-based variant of {@link #updateStatusByAdmin}: one select, one appointment UPDATE and, when rejecting,
+     * one slot UPDATE regardless of how many ids are sent. Only PENDING can be approved and only PENDING/APPROVED
+     * rejected; other ids are reported as SKIPPED. If a row changes between the select and the update
+     * the whole call is rolled back with 409 so the reported results are always exact.
+     */
+    @Override
+    @Transactional
+    public List<BulkStatusResult> updateStatusesByAdmin(BulkStatusRequest request) {
+        AppointmentStatus target;
+        List<AppointmentStatus> from;
+        String status = request.getStatus().toUpperCase();
+        if ("APPROVED".equals(status)) {
+            target = AppointmentStatus.APPROVED;
+            from = List.of(AppointmentStatus.PENDING);
+        } else if ("REJECTED".equals(status)) {
+            target = AppointmentStatus.REJECTED;
+            from = ACTIVE_STATUSES;
+        } else {
+            throw new BadRequestException("Status must be APPROVED or REJECTED");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(request.getAppointmentIds());
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (Object[] row : appointmentRepository.findStatusRows(ids)) {
+            rows.put((Long) row[0], row);
+        }
+        List<Long> eligible = new ArrayList<>();
+        List<SlotChange> freed = new ArrayList<>();
+        for (Object[] row : rows.values()) {
+            if (from.contains((AppointmentStatus) row[1])) {
+                eligible.add((Long) row[0]);
+                if (target == AppointmentStatus.REJECTED) {
+                    freed.add(new SlotChange((Long) row[2], (Long) row[3], (LocalDate) row[4],
+                            (LocalTime) row[5], (LocalTime) row[6], true));
+                }
+            }
+        }
+        if (!eligible.isEmpty()) {
+            if (appointmentRepository.updateStatuses(eligible, from, target, Instant.now()) != eligible.size()) {
+                throw new SlotConflictException("Some appointments were modified concurrently, please retry");
+            }
+            if (!freed.isEmpty()) {
+                slotRepository.releaseAll(freed.stream().map(SlotChange::getSlotId).toList());
+                eventPublisher.publishEvent(new SlotAvailabilityChangedEvent(freed));
+            }
+        }
 
-        // Auto-complete: if appointment date+time has passed and status is PENDING or APPROVED
-        String status = a.getStatus().name();
-        if (a.getStatus() == AppointmentStatus.PENDING || a.getStatus() == AppointmentStatus.APPROVED) {
-            LocalDate today = LocalDate.now();
-            LocalTime now = LocalTime.now();
-            if (slot.getSlotDate().isBefore(today) ||
-                    (slot.getSlotDate().isEqual(today) && slot.getEndTime().isBefore(now))) {
-                a.setStatus(AppointmentStatus.COMPLETED);
-                appointmentRepository.save(a);
-                status = "COMPLETED";
+        Set<Long> updated = new HashSet<>(eligible);
+        List<BulkStatusResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Object[] row = rows.get(id);
+            if (row == null) {
+                results.add(new BulkStatusResult(id, "NOT_FOUND", null));
+            } else if (updated.contains(id)) {
+                results.add(new BulkStatusResult(id, "UPDATED", target.name()));
+            } else {
+                results.add(new BulkStatusResult(id, "SKIPPED", ((AppointmentStatus) row[1]).name()));
             }
         }
+        return results;
+    }
+
+    /**
+     * Shows PENDING/APPROVED appointments whose slot has ended as COMPLETED.
+     * The persisted transition is done in bulk by {@link AppointmentAutoCompleter}.
+     */
+    private void applyDisplayStatus(AppointmentResponse r) {
+        if (("PENDING".equals(r.getStatus()) || "APPROVED".equals(r.getStatus()))
+                && hasEnded(r.getSlotDate(), r.getEndTime())) {
+            r.setStatus(AppointmentStatus.COMPLETED.name());
+        }
+    }
+
+    private static boolean hasEnded(LocalDate slotDate, LocalTime endTime) {
+        LocalDate today = LocalDate.now();
+        return slotDate.isBefore(today) || (slotDate.isEqual(today) && endTime.isBefore(LocalTime.now()));
+    }
+
+    private static AppointmentStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return AppointmentStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown status: " + status);
+        }
+    }
+
+    /**
+     * Flips the slot to unavailable with a conditional UPDATE and returns it.
+     * Distinguishes a missing slot (404) from one that was taken in the meantime (409).
+     */
+    private Slot claimSlot(Long slotId, String conflictMessage) {
+        if (slotRepository.claim(slotId) == 0) {
+            slotRepository.findById(slotId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Slot not found with id: " + slotId));
+            throw new SlotConflictException(conflictMessage, slotId);
+        }
+        return slotRepository.findById(slotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Slot not found with id: " + slotId));
+    }
+
+    private AppointmentResponse toResponse(Appointment a) {
+        Slot slot = a.getSlot();
+        User user = a.getUser();
 
-        return AppointmentResponse.builder()
+        AppointmentResponse response = AppointmentResponse.builder()
                 .id(a.getId())
                 .userId(user.getId())
                 .userName(user.getName())
@@ -183,8 +418,10 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .slotDate(slot.getSlotDate())
                 .startTime(slot.getStartTime())
                 .endTime(slot.getEndTime())
-                .status(status)
+                .status(a.getStatus().name())
                 .createdAt(a.getCreatedAt())
                 .build();
+        applyDisplayStatus(response);
+        return response;
     }
 }
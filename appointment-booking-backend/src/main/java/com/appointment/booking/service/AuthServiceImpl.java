@@ -5,33 +5,42 @@ import com.appointment.booking.entity.User;
 import com.appointment.booking.exception.BadRequestException;
 import com.appointment.booking.repository.UserRepository;
 import com.appointment.booking.security.JwtUtil;
+import com.appointment.booking.security.PasswordHashingService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(value = "auth.service", histogram = true)
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
 
+    /**
+     * Not transactional on purpose: the hash is computed before any connection is held,
+     * and the unique email constraint covers the race between the existence check and the insert.
+     */
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new BadRequestException("Email already registered");
         }
         User user = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .name(request.getName())
                 .phone(request.getPhone())
                 .role(User.Role.USER)
                 .build();
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("Email already registered");
+        }
         String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getRole().name());
         return AuthResponse.builder()
                 .token(token)
@@ -46,7 +55,7 @@ public class AuthServiceImpl implements AuthService {
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BadRequestException("Invalid email or password"));
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new BadRequestException("Invalid email or password");
         }
         String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getRole().name());
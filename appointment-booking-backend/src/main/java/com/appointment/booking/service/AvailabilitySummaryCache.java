@@ -0,0 +1,107 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.AvailabilitySummaryResponse;
+import com.appointment.booking.event.SlotAvailabilityChangedEvent;
+import com.appointment.booking.event.SlotChange;
+import com.appointment.booking.event.SlotsGeneratedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Month summaries per (service, month), bounded by size and expired after {@code ttl-seconds}. An entry is evicted
+ * once a change to one of its slots commits. The doctor's service is remembered from the summaries already loaded,
+ * so eviction needs no query; a change for a doctor not seen yet evicts that month for every service.
+ * Doctor and service writes clear everything, see {@link ReferenceDataChangeListener}.
+ */
+@Component
+public class AvailabilitySummaryCache {
+
+    private final Cache<Key, List<AvailabilitySummaryResponse>> entries;
+    private final Map<Long, Long> serviceByDoctor = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public AvailabilitySummaryCache(@Value("${app.slot-summary.cache.max-entries:512}") int maxEntries,
+                                    @Value("${app.slot-summary.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /** Returns the cached month, loading it on a miss. A load that overlaps an eviction is served but not stored. */
+    public List<AvailabilitySummaryResponse> get(Long serviceId, YearMonth month,
+                                                 Supplier<List<AvailabilitySummaryResponse>> loader) {
+        Key key = new Key(serviceId, month);
+        List<AvailabilitySummaryResponse> cached = entries.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        List<AvailabilitySummaryResponse> loaded = List.copyOf(loader.get());
+        for (AvailabilitySummaryResponse day : loaded) {
+            serviceByDoctor.put(day.getDoctorId(), serviceId);
+        }
+        if (generation.get() == before) {
+            entries.asMap().putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        generation.incrementAndGet();
+        for (SlotChange change : event.getChanges()) {
+            YearMonth month = YearMonth.from(change.getSlotDate());
+            Long serviceId = serviceByDoctor.get(change.getDoctorId());
+            entries.asMap().keySet().removeIf(k -> k.month.equals(month)
+                    && (serviceId == null || k.serviceId.equals(serviceId)));
+        }
+    }
+
+    @EventListener
+    public void onSlotsGenerated(SlotsGeneratedEvent event) {
+        YearMonth first = YearMonth.from(event.getFrom());
+        YearMonth last = YearMonth.from(event.getTo());
+        generation.incrementAndGet();
+        entries.asMap().keySet().removeIf(k -> !k.month.isBefore(first) && !k.month.isAfter(last));
+    }
+
+    /**
+     * Drops every month and the remembered doctor services, e.g. after a doctor moves to another service;
+     * now and again once the surrounding transaction (if any) has completed.
+     */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+        serviceByDoctor.clear();
+    }
+
+    private record Key(Long serviceId, YearMonth month) {
+    }
+}
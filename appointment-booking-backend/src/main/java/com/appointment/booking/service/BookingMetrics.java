@@ -0,0 +1,23 @@
+package com.appointment.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Booking-specific counters. Conflicts are tagged by doctor (resolved through the availability index,
+ * "unknown" when the index cannot tell) so a single oversubscribed doctor stands out.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+
+    public void recordConflict(Long slotId) {
+        Long doctorId = slotId == null ? null : slotAvailabilityIndex.doctorIdOf(slotId);
+        meterRegistry.counter("booking.conflicts", "doctor", doctorId == null ? "unknown" : doctorId.toString())
+                .increment();
+    }
+}
@@ -0,0 +1,126 @@
+package com.appointment.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized JSON for rarely changing reference data (services, doctors), each with a strong ETag
+ * derived from the body. Cleared whenever a doctor or service entity is written, see {@link ReferenceDataChangeListener}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Returns the cached entry for {@code key}, loading and serializing it on a miss.
+     * A load that overlaps an invalidation is served but not stored, so stale data cannot be cached.
+     */
+    public Entry get(String key, Supplier<?> loader) {
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        Entry loaded = serialize(loader.get());
+        if (generation.get() == before) {
+            entries.putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    /** Whether {@code key} currently has a stored entry. */
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /** Serializes {@code value} the same way as a cached entry but does not store it. */
+    public Entry uncached(Object value) {
+        return serialize(value);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** Clears everything now and again once the surrounding transaction (if any) has completed. */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private Entry serialize(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder etag = new StringBuilder("\"");
+            for (int i = 0; i < 16; i++) {
+                etag.append(String.format("%02x", hash[i]));
+            }
+            return new Entry(body, etag.append('"').toString());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not serialize reference data", e);
+        }
+    }
+
+    public record Entry(byte[] body, String etag) {
+
+        /** 304 if {@code ifNoneMatch} lists this entry's ETag (or is "*"), otherwise 200 with the cached body. */
+        public ResponseEntity<byte[]> toResponse(String ifNoneMatch) {
+            if (matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
+
+        private boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
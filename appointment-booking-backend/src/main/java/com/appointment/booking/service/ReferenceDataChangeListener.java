@@ -0,0 +1,34 @@
+package com.appointment.booking.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@code Doctor} and {@code AppointmentService}: any write drops the reference-data cache
+ * and the availability summaries, which carry doctor names and services.
+ * Writes that bypass JPA (plain JDBC) must call {@link ReferenceDataCache#invalidate()} themselves.
+ * The caches are looked up lazily so JPA-only test slices, which have no cache beans, can still build the listener.
+ */
+@Component
+public class ReferenceDataChangeListener {
+
+    private final ObjectProvider<ReferenceDataCache> referenceDataCache;
+    private final ObjectProvider<AvailabilitySummaryCache> availabilitySummaryCache;
+
+    public ReferenceDataChangeListener(ObjectProvider<ReferenceDataCache> referenceDataCache,
+                                       ObjectProvider<AvailabilitySummaryCache> availabilitySummaryCache) {
+        this.referenceDataCache = referenceDataCache;
+        this.availabilitySummaryCache = availabilitySummaryCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        referenceDataCache.ifAvailable(ReferenceDataCache::invalidate);
+        availabilitySummaryCache.ifAvailable(AvailabilitySummaryCache::invalidate);
+    }
+}
@@ -0,0 +1,448 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.SlotResponse;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.event.SlotAvailabilityChangedEvent;
+import com.appointment.booking.event.SlotChange;
+import com.appointment.booking.event.SlotsGeneratedEvent;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.SlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory mirror of {@code slots.available}, kept per doctor and per day so slot browsing
+ * is answered without a database round trip.
+ * Each day holds its slots ordered by start time plus a BitSet of which positions are free,
+ * and each service keeps its free slots in a tree ordered by start so the earliest openings are an O(log n) seek.
+ * Updated from {@link SlotAvailabilityChangedEvent} after the owning transaction commits;
+ * a periodic check against the slots table rebuilds it if it ever drifts.
+ * Set {@code app.slot-index.enabled=false} to fall back to the repository queries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotAvailabilityIndex {
+
+    private final SlotRepository slotRepository;
+    private final DoctorRepository doctorRepository;
+
+    @Value("${app.slot-index.enabled:true}")
+    private boolean enabled;
+
+    private static final Comparator<SlotEntry> START_ORDER = Comparator.comparing((SlotEntry e) -> e.date)
+            .thenComparing(e -> e.start)
+            .thenComparingLong(e -> e.id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private Map<Long, DoctorInfo> doctors = new HashMap<>();
+    private Map<Long, SlotEntry> slotsById = new HashMap<>();
+    private TreeMap<Long, TreeMap<LocalDate, DaySlots>> days = new TreeMap<>();
+    private Map<Long, TreeSet<SlotEntry>> freeByService = new HashMap<>();
+    /** Changes applied while a rebuild is loading, replayed onto the new index; null when no rebuild runs. */
+    private List<PendingChanges> pendingDuringRebuild;
+    private volatile boolean loaded;
+
+    /** True when the index is enabled and has completed its initial load. */
+    public boolean isServing() {
+        return enabled && loaded;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reloads the whole index from the database. Rows are read outside the lock and swapped in at once,
+     * so readers never see a half-built index. Changes applied while the rows are read may be missing from them,
+     * so they are recorded and replayed onto the new index before it is published; replaying one the load
+     * already saw is harmless.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    private void load() {
+        Map<Long, DoctorInfo> newDoctors = new HashMap<>();
+        for (Doctor d : doctorRepository.findAllWithService()) {
+            newDoctors.put(d.getId(), DoctorInfo.of(d));
+        }
+        Map<Long, SlotEntry> newSlots = new HashMap<>();
+        TreeMap<Long, TreeMap<LocalDate, DaySlots>> newDays = new TreeMap<>();
+        Map<Long, TreeSet<SlotEntry>> newFreeByService = new HashMap<>();
+        for (Object[] row : slotRepository.findAllSlotStates()) {
+            SlotEntry entry = new SlotEntry((Long) row[0], (Long) row[1], (LocalDate) row[2],
+                    (LocalTime) row[3], (LocalTime) row[4]);
+            boolean free = (Boolean) row[5];
+            newSlots.put(entry.id, entry);
+            newDays.computeIfAbsent(entry.doctorId, k -> new TreeMap<>())
+                    .computeIfAbsent(entry.date, k -> new DaySlots())
+                    .insert(entry, free);
+            trackFree(newFreeByService, newDoctors, entry, free);
+        }
+        lock.writeLock().lock();
+        try {
+            doctors = newDoctors;
+            slotsById = newSlots;
+            days = newDays;
+            freeByService = newFreeByService;
+            for (PendingChanges pending : pendingDuringRebuild) {
+                applyLocked(pending.changes(), pending.missingDoctors());
+            }
+            log.info("Slot availability index loaded: {} slots for {} doctors, {} change batches replayed",
+                    slotsById.size(), doctors.size(), pendingDuringRebuild.size());
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Same semantics as the four {@code find...AvailableTrue} repository queries; null filters mean "any". */
+    public List<SlotResponse> findAvailable(Long doctorId, LocalDate date) {
+        List<SlotResponse> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Collection<TreeMap<LocalDate, DaySlots>> perDoctor = doctorId != null
+                    ? Collections.singletonList(days.getOrDefault(doctorId, new TreeMap<>()))
+                    : days.values();
+            for (TreeMap<LocalDate, DaySlots> doctorDays : perDoctor) {
+                Collection<DaySlots> selected = date != null
+                        ? (doctorDays.containsKey(date) ? List.of(doctorDays.get(date)) : List.of())
+                        : doctorDays.values();
+                for (DaySlots day : selected) {
+                    for (int i = day.available.nextSetBit(0); i >= 0; i = day.available.nextSetBit(i + 1)) {
+                        result.add(toResponse(day.entries[i], true));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /** True only when the index is serving and knows the slot to be taken; unknown slots are never reported taken. */
+    public boolean isKnownUnavailable(Long slotId) {
+        return Boolean.FALSE.equals(lookup(slotId));
+    }
+
+    /** True only when the index is serving and knows the slot to be free. */
+    public boolean isKnownAvailable(Long slotId) {
+        return Boolean.TRUE.equals(lookup(slotId));
+    }
+
+    /** Doctor owning the slot, or null if the index is not serving or does not know the slot. */
+    public Long doctorIdOf(Long slotId) {
+        if (!isServing()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            SlotEntry entry = slotsById.get(slotId);
+            return entry == null ? null : entry.doctorId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Boolean lookup(Long slotId) {
+        if (!isServing()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            SlotEntry entry = slotsById.get(slotId);
+            if (entry == null) {
+                return null;
+            }
+            DaySlots day = days.get(entry.doctorId).get(entry.date);
+            return day.available.get(day.indexOf(entry.id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** All slots of a doctor in [from, to] ordered by date and start time, each flagged with its current availability. */
+    public List<SlotResponse> findForRange(Long doctorId, LocalDate from, LocalDate to) {
+        List<SlotResponse> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            TreeMap<LocalDate, DaySlots> doctorDays = days.get(doctorId);
+            if (doctorDays == null) {
+                return result;
+            }
+            for (DaySlots day : doctorDays.subMap(from, true, to, true).values()) {
+                for (int i = 0; i < day.entries.length; i++) {
+                    result.add(toResponse(day.entries[i], day.available.get(i)));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The earliest free slots of a service starting at or after {@code from}, ordered by date, start time and id.
+     * Slots in {@code excluded} (e.g. held ones) are skipped without counting towards {@code limit}.
+     */
+    public List<SlotResponse> findNextAvailable(Long serviceId, LocalDateTime from, int limit, Set<Long> excluded) {
+        List<SlotResponse> result = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            TreeSet<SlotEntry> free = freeByService.get(serviceId);
+            if (free == null) {
+                return result;
+            }
+            LocalTime start = from.toLocalTime();
+            SlotEntry probe = new SlotEntry(Long.MIN_VALUE, 0, from.toLocalDate(), start, start);
+            for (SlotEntry entry : free.tailSet(probe, true)) {
+                if (result.size() == limit) {
+                    break;
+                }
+                if (!excluded.contains(entry.id)) {
+                    result.add(toResponse(entry, true));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        apply(event.getChanges());
+    }
+
+    @EventListener
+    public void onSlotsGenerated(SlotsGeneratedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        List<SlotChange> changes = new ArrayList<>();
+        for (Object[] row : slotRepository.findSlotStatesBetween(event.getFrom(), event.getTo())) {
+            changes.add(new SlotChange((Long) row[0], (Long) row[1], (LocalDate) row[2],
+                    (LocalTime) row[3], (LocalTime) row[4], (Boolean) row[5]));
+        }
+        apply(changes);
+    }
+
+    void apply(List<SlotChange> changes) {
+        Set<Long> unknownDoctorIds = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (SlotChange change : changes) {
+                if (!doctors.containsKey(change.getDoctorId())) {
+                    unknownDoctorIds.add(change.getDoctorId());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, DoctorInfo> missingDoctors = new HashMap<>();
+        for (Long doctorId : unknownDoctorIds) {
+            doctorRepository.findWithServiceById(doctorId)
+                    .ifPresent(d -> missingDoctors.put(d.getId(), DoctorInfo.of(d)));
+        }
+        lock.writeLock().lock();
+        try {
+            applyLocked(changes, missingDoctors);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(new PendingChanges(List.copyOf(changes), missingDoctors));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Caller holds the write lock. */
+    private void applyLocked(List<SlotChange> changes, Map<Long, DoctorInfo> missingDoctors) {
+        missingDoctors.forEach(doctors::putIfAbsent);
+        for (SlotChange change : changes) {
+            SlotEntry entry = slotsById.get(change.getSlotId());
+            if (entry == null) {
+                entry = new SlotEntry(change.getSlotId(), change.getDoctorId(), change.getSlotDate(),
+                        change.getStartTime(), change.getEndTime());
+                slotsById.put(entry.id, entry);
+                days.computeIfAbsent(entry.doctorId, k -> new TreeMap<>())
+                        .computeIfAbsent(entry.date, k -> new DaySlots())
+                        .insert(entry, change.isAvailable());
+            } else {
+                DaySlots day = days.get(entry.doctorId).get(entry.date);
+                day.available.set(day.indexOf(entry.id), change.isAvailable());
+            }
+            trackFree(freeByService, doctors, entry, change.isAvailable());
+        }
+    }
+
+    /**
+     * Compares the set of free slot ids against the slots table and rebuilds on any difference.
+     *
+     * @return true if the index matched the database
+     */
+    @Scheduled(fixedDelayString = "${app.slot-index.verify-interval-ms:300000}",
+            initialDelayString = "${app.slot-index.verify-interval-ms:300000}")
+    public boolean verifyAgainstDatabase() {
+        if (!isServing()) {
+            return true;
+        }
+        long dbTotal = slotRepository.count();
+        Set<Long> dbAvailable = new HashSet<>(slotRepository.findAvailableSlotIds());
+        Set<Long> indexAvailable = new HashSet<>();
+        int indexTotal;
+        lock.readLock().lock();
+        try {
+            indexTotal = slotsById.size();
+            for (TreeMap<LocalDate, DaySlots> doctorDays : days.values()) {
+                for (DaySlots day : doctorDays.values()) {
+                    for (int i = day.available.nextSetBit(0); i >= 0; i = day.available.nextSetBit(i + 1)) {
+                        indexAvailable.add(day.entries[i].id);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (dbTotal == indexTotal && dbAvailable.equals(indexAvailable)) {
+            return true;
+        }
+        log.warn("Slot availability index drifted (db: {} slots/{} free, index: {} slots/{} free); rebuilding",
+                dbTotal, dbAvailable.size(), indexTotal, indexAvailable.size());
+        rebuild();
+        return false;
+    }
+
+    private static void trackFree(Map<Long, TreeSet<SlotEntry>> freeByService, Map<Long, DoctorInfo> doctors,
+                                  SlotEntry entry, boolean free) {
+        DoctorInfo doc = doctors.get(entry.doctorId);
+        if (doc == null || doc.serviceId == null) {
+            return;
+        }
+        if (free) {
+            freeByService.computeIfAbsent(doc.serviceId, k -> new TreeSet<>(START_ORDER)).add(entry);
+        } else {
+            TreeSet<SlotEntry> set = freeByService.get(doc.serviceId);
+            if (set != null) {
+                set.remove(entry);
+            }
+        }
+    }
+
+    private SlotResponse toResponse(SlotEntry e, boolean available) {
+        DoctorInfo doc = doctors.get(e.doctorId);
+        return SlotResponse.builder()
+                .id(e.id)
+                .doctorId(e.doctorId)
+                .doctorName(doc != null ? doc.name : null)
+                .serviceId(doc != null ? doc.serviceId : null)
+                .serviceName(doc != null ? doc.serviceName : null)
+                .slotDate(e.date)
+                .startTime(e.start)
+                .endTime(e.end)
+                .available(available)
+                .build();
+    }
+
+    private static final class SlotEntry {
+        private final long id;
+        private final long doctorId;
+        private final LocalDate date;
+        private final LocalTime start;
+        private final LocalTime end;
+
+        private SlotEntry(long id, long doctorId, LocalDate date, LocalTime start, LocalTime end) {
+            this.id = id;
+            this.doctorId = doctorId;
+            this.date = date;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private record PendingChanges(List<SlotChange> changes, Map<Long, DoctorInfo> missingDoctors) {
+    }
+
+    private static final class DoctorInfo {
+        private final String name;
+        private final Long serviceId;
+        private final String serviceName;
+
+        private DoctorInfo(String name, Long serviceId, String serviceName) {
+            this.name = name;
+            this.serviceId = serviceId;
+            this.serviceName = serviceName;
+        }
+
+        private static DoctorInfo of(Doctor d) {
+            return new DoctorInfo(d.getName(), d.getService().getId(), d.getService().getName());
+        }
+    }
+
+    /** One doctor's slots on one day, ordered by start time; bit i of {@code available} is entries[i]. */
+    private static final class DaySlots {
+        private SlotEntry[] entries = new SlotEntry[0];
+        private BitSet available = new BitSet();
+
+        private int indexOf(long slotId) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].id == slotId) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Slot " + slotId + " missing from its day");
+        }
+
+        private void insert(SlotEntry entry, boolean free) {
+            int pos = 0;
+            while (pos < entries.length && (entries[pos].start.isBefore(entry.start)
+                    || (entries[pos].start.equals(entry.start) && entries[pos].id < entry.id))) {
+                pos++;
+            }
+            SlotEntry[] grown = new SlotEntry[entries.length + 1];
+            System.arraycopy(entries, 0, grown, 0, pos);
+            grown[pos] = entry;
+            System.arraycopy(entries, pos, grown, pos + 1, entries.length - pos);
+            BitSet shifted = new BitSet(grown.length);
+            for (int i = 0; i < grown.length; i++) {
+                boolean bit = i < pos ? available.get(i) : i == pos ? free : available.get(i - 1);
+                shifted.set(i, bit);
+            }
+            entries = grown;
+            available = shifted;
+        }
+    }
+}
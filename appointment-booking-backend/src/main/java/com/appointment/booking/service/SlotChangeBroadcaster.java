@@ -0,0 +1,265 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.event.SlotAvailabilityChangedEvent;
+import com.appointment.booking.event.SlotChange;
+import com.appointment.booking.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed slot availability changes to SSE subscribers of a (doctorId, date) channel.
+ * Publishing never blocks: each subscriber has a small bounded queue drained by a sender pool.
+ * When a slow client's queue is full the oldest change is dropped and the client is sent a
+ * {@code resync} event, telling it to re-read the day from {@code /api/slots/by-date}.
+ * A send that blocks longer than {@code send-timeout-ms} (a client that stopped reading) is interrupted and
+ * its subscriber dropped, so a few stalled clients cannot hold the small sender pool.
+ */
+@Slf4j
+@Component
+public class SlotChangeBroadcaster {
+
+    private final Map<Channel, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders;
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long sendTimeoutNanos;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    public SlotChangeBroadcaster(MeterRegistry registry,
+                                 @Value("${app.sse.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+                                 @Value("${app.sse.max-subscribers:10000}") int maxSubscribers,
+                                 @Value("${app.sse.sender-threads:2}") int senderThreads,
+                                 @Value("${app.sse.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.maxSubscribers = maxSubscribers;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "sse-sender-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.dropped = Counter.builder("slots.sse.dropped").register(registry);
+        this.stalled = Counter.builder("slots.sse.stalled").register(registry);
+        Gauge.builder("slots.sse.subscribers", subscriberCount, AtomicInteger::get).register(registry);
+    }
+
+    public SseEmitter subscribe(Long doctorId, LocalDate date) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many live subscriptions, please retry shortly");
+        }
+        Channel channel = new Channel(doctorId, date);
+        Subscriber subscriber = new Subscriber(channel, new SseEmitter(timeoutMs));
+        channels.compute(channel, (c, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        for (SlotChange change : event.getChanges()) {
+            Set<Subscriber> subscribers = channels.get(new Channel(change.getDoctorId(), change.getSlotDate()));
+            if (subscribers == null) {
+                continue;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(change);
+            }
+        }
+    }
+
+    /** Keeps idle connections open through proxies and detects clients that went away. */
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        channels.values().forEach(subscribers -> subscribers.forEach(Subscriber::ping));
+    }
+
+    /**
+     * Interrupts sends that have been blocked for longer than the send timeout and drops their subscribers;
+     * the interrupted sender completes the emitter. Emitter methods are not called here because they would wait
+     * on the blocked send.
+     */
+    @Scheduled(fixedDelayString = "${app.sse.send-timeout-ms:5000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        channels.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.interruptIfStalled(now)) {
+                log.debug("Dropping SSE subscriber for {}: send blocked for over {} ms", subscriber.channel,
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                stalled.increment();
+                remove(subscriber);
+            }
+        }));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void remove(Subscriber subscriber) {
+        channels.computeIfPresent(subscriber.channel, (c, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        channels.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private record Channel(Long doctorId, LocalDate date) {
+    }
+
+    private final class Subscriber {
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SlotChange> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private Thread sendingThread;
+        private long sendingSince;
+        private boolean interrupted;
+        private volatile boolean overflowed;
+        private volatile boolean pingDue;
+
+        private Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SlotChange change) {
+            while (!queue.offer(change)) {
+                if (queue.poll() != null) {
+                    overflowed = true;
+                    dropped.increment();
+                }
+            }
+            schedule();
+        }
+
+        void ping() {
+            pingDue = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (overflowed) {
+                    overflowed = false;
+                    queue.clear();
+                    send(SseEmitter.event().name("resync").data(channel.date().toString()));
+                }
+                SlotChange change;
+                while ((change = queue.poll()) != null) {
+                    send(SseEmitter.event().name("slot").data(change, MediaType.APPLICATION_JSON));
+                }
+                if (pingDue) {
+                    pingDue = false;
+                    send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Dropping SSE subscriber for {}: {}", channel, e.getMessage());
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty() || overflowed || pingDue) {
+                schedule();
+            }
+        }
+
+        /** Sends while recording which thread is blocked and since when, see {@link #interruptIfStalled}. */
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendLock.lock();
+            try {
+                if (interrupted) {
+                    throw new IOException("SSE send timed out");
+                }
+                sendingThread = Thread.currentThread();
+                sendingSince = System.nanoTime();
+            } finally {
+                sendLock.unlock();
+            }
+            boolean timedOut;
+            try {
+                emitter.send(event);
+            } finally {
+                sendLock.lock();
+                try {
+                    sendingThread = null;
+                    timedOut = interrupted;
+                    if (timedOut) {
+                        // Do not leave the interrupt for the next subscriber this pool thread serves
+                        Thread.interrupted();
+                    }
+                } finally {
+                    sendLock.unlock();
+                }
+            }
+            if (timedOut) {
+                throw new IOException("SSE send timed out");
+            }
+        }
+
+        /** Interrupts the sender if it has been blocked past the send timeout; only while that send is running. */
+        boolean interruptIfStalled(long now) {
+            sendLock.lock();
+            try {
+                if (sendingThread == null || interrupted || now - sendingSince < sendTimeoutNanos) {
+                    return false;
+                }
+                interrupted = true;
+                sendingThread.interrupt();
+                return true;
+            } finally {
+                sendLock.unlock();
+            }
+        }
+    }
+}
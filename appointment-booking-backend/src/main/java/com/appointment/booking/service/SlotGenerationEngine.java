@@ -0,0 +1,239 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.event.SlotsGeneratedEvent;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.SlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk slot generation: existing (doctor, date, startTime) keys are fetched with one query,
+ * only the missing slots are inserted with JDBC batches, and doctors are split across a small worker pool
+ * where each partition commits in its own transaction. With virtual threads enabled the partitions run on
+ * virtual threads instead; the partition count still caps how many connections generation uses.
+ */
+@Slf4j
+@Component
+public class SlotGenerationEngine {
+
+    private static final LocalTime[] WEEKDAY_TIMES = {
+            LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0),
+            LocalTime.of(12, 0), LocalTime.of(14, 0), LocalTime.of(15, 0), LocalTime.of(16, 0)
+    };
+    private static final LocalTime[] WEEKEND_TIMES = {
+            LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(14, 0)
+    };
+    private static final int SLOT_MINUTES = 30;
+    private static final String INSERT_SQL =
+            "INSERT INTO slots (doctor_id, slot_date, start_time, end_time, available) VALUES (?, ?, ?, ?, ?)";
+
+    private final SlotRepository slotRepository;
+    private final DoctorRepository doctorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int parallelism;
+    private final Executor workers;
+    private final Timer generationTimer;
+    private final Counter insertedCounter;
+
+    public SlotGenerationEngine(SlotRepository slotRepository,
+                                DoctorRepository doctorRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.slot-generation.batch-size:500}") int batchSize,
+                                @Value("${app.slot-generation.parallelism:4}") int parallelism,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.slotRepository = slotRepository;
+        this.doctorRepository = doctorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.generationTimer = Timer.builder("slots.generation").register(meterRegistry);
+        this.insertedCounter = Counter.builder("slots.generation.inserted").register(meterRegistry);
+        this.workers = virtualThreads ? new VirtualThreadTaskExecutor("slot-gen-") : platformPool(this.parallelism);
+    }
+
+    private static ExecutorService platformPool(int size) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "slot-gen-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Inserts every missing slot for all doctors between {@code from} and {@code to} inclusive.
+     *
+     * @return number of slots inserted
+     */
+    public int generate(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return 0;
+        }
+        return generationTimer.record(() -> generateBetween(from, to));
+    }
+
+    private int generateBetween(LocalDate from, LocalDate to) {
+        List<DoctorPlan> plans = new ArrayList<>();
+        for (Doctor d : doctorRepository.findAll()) {
+            plans.add(new DoctorPlan(d.getId(), d.getWeekdaySlotCount(), d.getWeekendSlotCount()));
+        }
+        Set<SlotKey> existing = new HashSet<>();
+        for (Object[] row : slotRepository.findSlotKeysBetween(from, to)) {
+            existing.add(new SlotKey((Long) row[0], (LocalDate) row[1], (LocalTime) row[2]));
+        }
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (List<DoctorPlan> partition : partition(plans)) {
+            futures.add(CompletableFuture.supplyAsync(() -> insertMissing(partition, existing, from, to), workers));
+        }
+        int inserted = futures.stream().mapToInt(CompletableFuture::join).sum();
+        insertedCounter.increment(inserted);
+        if (inserted > 0) {
+            eventPublisher.publishEvent(new SlotsGeneratedEvent(from, to, inserted));
+        }
+        log.info("Slot generation {}..{}: {} doctors, {} existing, {} inserted",
+                from, to, plans.size(), existing.size(), inserted);
+        return inserted;
+    }
+
+    /**
+     * Rolling variant for the daily job: one grouped query finds the days in {@code [today, horizon]} where fewer
+     * doctors have slots than are scheduled to work, and only the span from the first to the last such day is
+     * generated. Normally that is just the newly exposed day; after downtime, or once a doctor is added, it covers
+     * every day that is still missing. Days that are already complete are skipped, wherever they fall.
+     */
+    public int generateUpTo(LocalDate today, LocalDate horizon) {
+        if (horizon.isBefore(today)) {
+            return 0;
+        }
+        long weekdayDoctors = 0;
+        long weekendDoctors = 0;
+        for (Doctor d : doctorRepository.findAll()) {
+            if (d.getWeekdaySlotCount() > 0) {
+                weekdayDoctors++;
+            }
+            if (d.getWeekendSlotCount() > 0) {
+                weekendDoctors++;
+            }
+        }
+        Map<LocalDate, Long> doctorsPerDay = new HashMap<>();
+        for (Object[] row : slotRepository.countDoctorsWithSlotsPerDay(today, horizon)) {
+            doctorsPerDay.put((LocalDate) row[0], (Long) row[1]);
+        }
+        LocalDate first = null;
+        LocalDate last = null;
+        for (LocalDate date = today; !date.isAfter(horizon); date = date.plusDays(1)) {
+            long expected = isWeekend(date) ? weekendDoctors : weekdayDoctors;
+            if (doctorsPerDay.getOrDefault(date, 0L) < expected) {
+                if (first == null) {
+                    first = date;
+                }
+                last = date;
+            }
+        }
+        return first == null ? 0 : generate(first, last);
+    }
+
+    private int insertMissing(List<DoctorPlan> doctors, Set<SlotKey> existing, LocalDate from, LocalDate to) {
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (DoctorPlan doctor : doctors) {
+                for (LocalTime start : getTimesForDay(date, doctor)) {
+                    if (existing.contains(new SlotKey(doctor.id, date, start))) {
+                        continue;
+                    }
+                    rows.add(new Object[]{doctor.id, Date.valueOf(date), Time.valueOf(start),
+                            Time.valueOf(start.plusMinutes(SLOT_MINUTES)), true});
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < rows.size(); i += batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(i, Math.min(i + batchSize, rows.size())));
+            }
+        });
+        return rows.size();
+    }
+
+    private List<List<DoctorPlan>> partition(List<DoctorPlan> plans) {
+        int buckets = Math.min(parallelism, Math.max(1, plans.size()));
+        List<List<DoctorPlan>> partitions = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < plans.size(); i++) {
+            partitions.get(i % buckets).add(plans.get(i));
+        }
+        return partitions;
+    }
+
+    private static List<LocalTime> getTimesForDay(LocalDate date, DoctorPlan doctor) {
+        boolean weekend = isWeekend(date);
+        int count = weekend ? doctor.weekendSlotCount : doctor.weekdaySlotCount;
+        LocalTime[] pool = weekend ? WEEKEND_TIMES : WEEKDAY_TIMES;
+        return Arrays.asList(pool).subList(0, Math.min(Math.max(count, 0), pool.length));
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (workers instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class DoctorPlan {
+        private final long id;
+        private final int weekdaySlotCount;
+        private final int weekendSlotCount;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class SlotKey {
+        private final long doctorId;
+        private final LocalDate date;
+        private final LocalTime startTime;
+    }
+}
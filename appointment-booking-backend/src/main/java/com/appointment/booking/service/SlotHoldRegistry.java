@@ -0,0 +1,165 @@
+package com.appointment.booking.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived in-memory reservations taken while a patient fills in the booking form.
+ * Expiry is driven by a hashed timing wheel: each hold sits in the bucket of its expiry tick and is dropped
+ * when the wheel reaches that bucket, so no database polling is involved.
+ * Reads also compare against the expiry time, so a hold is never honoured past its TTL even between ticks.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final long tickMs;
+    private final Map<Long, Hold> holdsBySlot = new ConcurrentHashMap<>();
+    private final List<Queue<Hold>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final ScheduledExecutorService ticker;
+    private volatile long currentTick;
+
+    public SlotHoldRegistry(@Value("${app.holds.tick-ms:1000}") long tickMs) {
+        this.tickMs = tickMs;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "slot-hold-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Places or refreshes a hold for {@code userId}.
+     *
+     * @return the new hold, or empty if another user holds the slot
+     */
+    public Optional<Hold> hold(Long slotId, Long userId, long ttlSeconds) {
+        long now = System.currentTimeMillis();
+        Hold hold = new Hold(slotId, userId, now + ttlSeconds * 1000);
+        Hold current = holdsBySlot.compute(slotId, (id, existing) ->
+                existing == null || !existing.isActive(now) || existing.userId.equals(userId) ? hold : existing);
+        if (current != hold) {
+            return Optional.empty();
+        }
+        long ticksAhead = Math.max(1, (ttlSeconds * 1000 + tickMs - 1) / tickMs);
+        wheel.get((int) ((currentTick + ticksAhead) % WHEEL_SIZE)).add(hold);
+        return Optional.of(hold);
+    }
+
+    public void release(Long slotId, Long userId) {
+        holdsBySlot.computeIfPresent(slotId, (id, existing) -> existing.userId.equals(userId) ? null : existing);
+    }
+
+    /**
+     * Releases the holds once the surrounding transaction commits, or now if there is none. A booking that
+     * rolls back leaves the patient's holds in place, and nobody else can take a slot before its claim is visible.
+     */
+    public void releaseAfterCommit(Collection<Long> slotIds, Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            slotIds.forEach(slotId -> release(slotId, userId));
+            return;
+        }
+        List<Long> ids = List.copyOf(slotIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(slotId -> release(slotId, userId));
+            }
+        });
+    }
+
+    /** True if {@code userId} holds an unexpired hold on the slot. */
+    public boolean isHeldBy(Long slotId, Long userId) {
+        Hold hold = holdsBySlot.get(slotId);
+        return hold != null && hold.isActive(System.currentTimeMillis()) && hold.userId.equals(userId);
+    }
+
+    /** True if anyone other than {@code userId} holds an unexpired hold on the slot. */
+    public boolean isHeldByOther(Long slotId, Long userId) {
+        Hold hold = holdsBySlot.get(slotId);
+        return hold != null && hold.isActive(System.currentTimeMillis()) && !hold.userId.equals(userId);
+    }
+
+    public int countHeldBy(Long userId) {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (Hold hold : holdsBySlot.values()) {
+            if (hold.userId.equals(userId) && hold.isActive(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Snapshot of slot ids currently under an unexpired hold. */
+    public Set<Long> heldSlotIds() {
+        long now = System.currentTimeMillis();
+        Set<Long> ids = new HashSet<>();
+        holdsBySlot.forEach((slotId, hold) -> {
+            if (hold.isActive(now)) {
+                ids.add(slotId);
+            }
+        });
+        return ids;
+    }
+
+    private void advance() {
+        long tick = currentTick + 1;
+        Queue<Hold> bucket = wheel.get((int) (tick % WHEEL_SIZE));
+        long now = System.currentTimeMillis();
+        Iterator<Hold> it = bucket.iterator();
+        while (it.hasNext()) {
+            Hold hold = it.next();
+            if (holdsBySlot.get(hold.slotId) != hold) {
+                it.remove();
+            } else if (!hold.isActive(now)) {
+                holdsBySlot.remove(hold.slotId, hold);
+                it.remove();
+            }
+        }
+        currentTick = tick;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    @Getter
+    public static final class Hold {
+        private final Long slotId;
+        private final Long userId;
+        private final long expiresAtMs;
+
+        private Hold(Long slotId, Long userId, long expiresAtMs) {
+            this.slotId = slotId;
+            this.userId = userId;
+            this.expiresAtMs = expiresAtMs;
+        }
+
+        public Instant getExpiresAt() {
+            return Instant.ofEpochMilli(expiresAtMs);
+        }
+
+        private boolean isActive(long now) {
+            return now < expiresAtMs;
+        }
+    }
+}
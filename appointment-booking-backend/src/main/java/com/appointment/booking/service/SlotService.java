@@ -1,15 +1,36 @@
 package com.appointment.booking.service;
 
+import com.appointment.booking.dto.AvailabilitySummaryResponse;
+import com.appointment.booking.dto.PageResponse;
+import com.appointment.booking.dto.SlotHoldResponse;
 import com.appointment.booking.dto.SlotRequest;
 import com.appointment.booking.dto.SlotResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface SlotService {
     List<SlotResponse> getAvailableSlots(Long doctorId, LocalDate date);
+    /** Keyset page of available slots from {@code from} (default today), ordered by date, start time and id. */
+    PageResponse<SlotResponse> getAvailableSlotsPage(Long doctorId, LocalDate date, LocalDate from, String cursor, Integer size);
+    /** Writes every available slot from {@code from} (default today) as newline-delimited JSON. */
+    void streamAvailableSlots(LocalDate from, OutputStream out) throws IOException;
     /** Returns all slots for a doctor on a date; each slot has available=false if already booked. */
     List<SlotResponse> getSlotsForDate(Long doctorId, LocalDate date);
+    /** Same as {@link #getSlotsForDate} for every day in [from, to], ordered by date then start time. */
+    List<SlotResponse> getSlotsForRange(Long doctorId, LocalDate from, LocalDate to);
+    /** Earliest {@code limit} free slots across all doctors of a service, starting at or after {@code after} (default now). */
+    List<SlotResponse> getNextAvailable(Long serviceId, LocalDateTime after, Integer limit);
+    /** Free and booked counts per day and doctor of a service in [from, to] (at most 31 days); holds are not counted. */
+    List<AvailabilitySummaryResponse> getAvailabilitySummary(Long serviceId, LocalDate from, LocalDate to);
     SlotResponse createSlot(SlotRequest request);
+    /** Reserves a free slot for the user for {@code seconds} (default app.holds.ttl-seconds) while they book. */
+    SlotHoldResponse holdSlot(Long userId, Long slotId, Integer seconds);
+    void releaseHold(Long userId, Long slotId);
     void generateSlotsForDoctors(int daysAhead);
+    /** Rolling daily generation: fills the days up to the horizon where some scheduled doctor still has no slots. */
+    void generateNewlyExposedDays(int daysAhead);
 }
@@ -1,82 +1,207 @@
 package com.appointment.booking.service;
 
+import com.appointment.booking.dto.AvailabilitySummaryResponse;
+import com.appointment.booking.dto.PageResponse;
+import com.appointment.booking.dto.SlotHoldResponse;
 import com.appointment.booking.dto.SlotRequest;
 import com.appointment.booking.dto.SlotResponse;
 import com.appointment.booking.entity.Doctor;
 import com.appointment.booking.entity.Slot;
+import com.appointment.booking.event.SlotAvailabilityChangedEvent;
+import com.appointment.booking.event.SlotChange;
+import com.appointment.booking.exception.BadRequestException;
 import com.appointment.booking.exception.ResourceNotFoundException;
-import com.appointment.booking.repository.AppointmentRepository;
+import com.appointment.booking.exception.SlotConflictException;
 import com.appointment.booking.repository.DoctorRepository;
 import com.appointment.booking.repository.SlotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.appointment.booking.entity.Appointment.AppointmentStatus;
 
 @Service
+@Timed(value = "slots.service", histogram = true)
 @RequiredArgsConstructor
 public class SlotServiceImpl implements SlotService {
 
-    private static final LocalTime[] WEEKDAY_TIMES = {
-            LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0),
-            LocalTime.of(12, 0), LocalTime.of(14, 0), LocalTime.of(15, 0), LocalTime.of(16, 0)
-    };
-    private static final LocalTime[] WEEKEND_TIMES = {
-            LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(14, 0)
-    };
+    private static final List<AppointmentStatus> ACTIVE_STATUSES =
+            List.of(AppointmentStatus.PENDING, AppointmentStatus.APPROVED);
+    /** Upper bound for range queries so a single call stays bounded (one calendar month). */
+    private static final int MAX_RANGE_DAYS = 31;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_NEXT_AVAILABLE = 5;
+    private static final int MAX_NEXT_AVAILABLE = 50;
+    private static final int STREAM_FLUSH_EVERY = 200;
 
     private final SlotRepository slotRepository;
     private final DoctorRepository doctorRepository;
-    private final AppointmentRepository appointmentRepository;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final AvailabilitySummaryCache availabilitySummaryCache;
+    private final SlotGenerationEngine slotGenerationEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final SlotHoldRegistry slotHoldRegistry;
 
-    @Override
-    public List<SlotResponse> getAvailableSlots(Long doctorId, LocalDate date) {
+    @Value("${app.holds.ttl-seconds:300}")
+    private int defaultHoldSeconds;
 
-        List<Slot> slots;
+    @Value("${app.holds.max-ttl-seconds:600}")
+    private int maxHoldSeconds;
 
-        if (doctorId != null && date != null) {
-            slots = slotRepository
-                    .findByDoctorIdAndSlotDateAndAvailableTrue(doctorId, date);
+    @Value("${app.holds.max-per-user:3}")
+    private int maxHoldsPerUser;
 
-        } else if (doctorId != null) {
-            slots = slotRepository
-                    .findByDoctorIdAndAvailableTrue(doctorId);
-
-        } else if (date != null) {
-            slots = slotRepository
-                    .findBySlotDateAndAvailableTrue(date);
+    @Override
+    public List<SlotResponse> getAvailableSlots(Long doctorId, LocalDate date) {
+        List<SlotResponse> slots = slotAvailabilityIndex.isServing()
+                ? slotAvailabilityIndex.findAvailable(doctorId, date)
+                : slotRepository.findAvailableResponses(doctorId, date);
+        return withoutHeld(slots);
+    }
 
+    @Override
+    public PageResponse<SlotResponse> getAvailableSlotsPage(Long doctorId, LocalDate date, LocalDate from,
+                                                           String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDate afterDate;
+        LocalTime afterTime;
+        long afterId;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] key = KeysetCursor.decode(cursor, 3);
+            try {
+                afterDate = LocalDate.parse(key[0]);
+                afterTime = LocalTime.parse(key[1]);
+                afterId = Long.parseLong(key[2]);
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
         } else {
-            slots = slotRepository
-                    .findByAvailableTrue();
+            // Sentinel just before the first slot of the start day.
+            afterDate = (from != null ? from : LocalDate.now()).minusDays(1);
+            afterTime = LocalTime.MAX;
+            afterId = 0L;
         }
+        List<SlotResponse> rows = slotRepository.findAvailablePage(doctorId, date, afterDate, afterTime, afterId,
+                PageRequest.of(0, pageSize + 1));
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            SlotResponse last = rows.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getSlotDate(), last.getStartTime(), last.getId());
+        }
+        // The cursor is taken before filtering so held slots never shift page boundaries.
+        return PageResponse.<SlotResponse>builder().items(withoutHeld(rows)).nextCursor(nextCursor).build();
+    }
 
-        return slots.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * Rows are read through a JDBC cursor and detached as soon as they are written,
+     * so memory per request stays flat however many slots exist.
+     * Held slots are left out against a snapshot of the holds taken when the stream starts.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAvailableSlots(LocalDate from, OutputStream out) throws IOException {
+        Set<Long> held = slotHoldRegistry.heldSlotIds();
+        try (Stream<Slot> slots = slotRepository.streamAvailableFrom(from != null ? from : LocalDate.now())) {
+            Iterator<Slot> it = slots.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                Slot slot = it.next();
+                if (held.contains(slot.getId())) {
+                    entityManager.detach(slot);
+                    continue;
+                }
+                out.write(objectMapper.writeValueAsBytes(toResponse(slot)));
+                out.write('\n');
+                entityManager.detach(slot);
+                if (++written % STREAM_FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
     }
 
     @Override
     public List<SlotResponse> getSlotsForDate(Long doctorId, LocalDate date) {
-        List<Slot> slots = slotRepository.findByDoctorIdAndSlotDateOrderByStartTime(doctorId, date);
-        return slots.stream()
-                .map(slot -> {
-                    boolean booked = appointmentRepository.existsBySlotIdAndStatusIn(
-                            slot.getId(), Arrays.asList(AppointmentStatus.PENDING, AppointmentStatus.APPROVED));
-                    SlotResponse r = toResponse(slot);
-                    r.setAvailable(!booked);
-                    return r;
-                })
-                .collect(Collectors.toList());
+        List<SlotResponse> slots = slotAvailabilityIndex.isServing()
+                ? slotAvailabilityIndex.findForRange(doctorId, date, date)
+                : slotRepository.findSlotStatesForDoctor(doctorId, date, date, ACTIVE_STATUSES);
+        return markHeld(slots);
+    }
+
+    @Override
+    public List<SlotResponse> getSlotsForRange(Long doctorId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        List<SlotResponse> slots = slotAvailabilityIndex.isServing()
+                ? slotAvailabilityIndex.findForRange(doctorId, from, to)
+                : slotRepository.findSlotStatesForDoctor(doctorId, from, to, ACTIVE_STATUSES);
+        return markHeld(slots);
+    }
+
+    @Override
+    public List<SlotResponse> getNextAvailable(Long serviceId, LocalDateTime after, Integer limit) {
+        int count = limit == null ? DEFAULT_NEXT_AVAILABLE : Math.min(Math.max(limit, 1), MAX_NEXT_AVAILABLE);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = after == null || after.isBefore(now) ? now : after;
+        Set<Long> held = slotHoldRegistry.heldSlotIds();
+        if (slotAvailabilityIndex.isServing()) {
+            return slotAvailabilityIndex.findNextAvailable(serviceId, from, count, held);
+        }
+        // Over-fetch by the number of holds so filtering them out still leaves a full answer.
+        List<SlotResponse> rows = slotRepository.findNextAvailableForService(serviceId, from.toLocalDate(),
+                from.toLocalTime(), PageRequest.of(0, count + held.size()));
+        return withoutHeld(rows).stream().limit(count).collect(Collectors.toList());
+    }
+
+    /** Built from whole cached months, so a range crossing a month boundary costs at most two grouped queries. */
+    @Override
+    public List<AvailabilitySummaryResponse> getAvailabilitySummary(Long serviceId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        List<AvailabilitySummaryResponse> result = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            YearMonth m = month;
+            for (AvailabilitySummaryResponse day : availabilitySummaryCache.get(serviceId, m, () ->
+                    slotRepository.summarizeForService(serviceId, m.atDay(1), m.atEndOfMonth(), ACTIVE_STATUSES))) {
+                if (!day.getSlotDate().isBefore(from) && !day.getSlotDate().isAfter(to)) {
+                    result.add(day);
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -84,6 +209,10 @@ public class SlotServiceImpl implements SlotService {
     public SlotResponse createSlot(SlotRequest request) {
         Doctor doctor = doctorRepository.findById(request.getDoctorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + request.getDoctorId()));
+        if (slotRepository.existsByDoctorIdAndSlotDateAndStartTime(doctor.getId(), request.getSlotDate(),
+                request.getStartTime())) {
+            throw new SlotConflictException("A slot already exists for this doctor at that date and time");
+        }
         Slot slot = Slot.builder()
                 .doctor(doctor)
                 .slotDate(request.getSlotDate())
@@ -92,51 +221,71 @@ public class SlotServiceImpl implements SlotService {
                 .available(true)
                 .build();
         slot = slotRepository.save(slot);
+        eventPublisher.publishEvent(SlotAvailabilityChangedEvent.of(SlotChange.of(slot, true)));
         return toResponse(slot);
     }
 
+    @Override
+    public SlotHoldResponse holdSlot(Long userId, Long slotId, Integer seconds) {
+        int ttl = seconds == null ? defaultHoldSeconds : Math.min(Math.max(seconds, 1), maxHoldSeconds);
+        boolean free;
+        if (slotAvailabilityIndex.isKnownAvailable(slotId)) {
+            free = true;
+        } else {
+            Slot slot = slotRepository.findById(slotId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Slot not found with id: " + slotId));
+            free = slot.isAvailable();
+        }
+        if (!free) {
+            throw new SlotConflictException("This slot is no longer available", slotId);
+        }
+        if (!slotHoldRegistry.isHeldBy(slotId, userId) && slotHoldRegistry.countHeldBy(userId) >= maxHoldsPerUser) {
+            throw new BadRequestException("You can hold at most " + maxHoldsPerUser + " slots at a time");
+        }
+        SlotHoldRegistry.Hold hold = slotHoldRegistry.hold(slotId, userId, ttl)
+                .orElseThrow(() -> new SlotConflictException("This slot is being booked by another patient", slotId));
+        return SlotHoldResponse.builder().slotId(slotId).expiresAt(hold.getExpiresAt()).build();
+    }
+
+    @Override
+    public void releaseHold(Long userId, Long slotId) {
+        slotHoldRegistry.release(slotId, userId);
+    }
+
     /**
-     * For each calendar day, generate slots for every doctor.
-     * On the same day: doctor 1 gets weekdaySlotCount (4-6) or weekendSlotCount (2-3), doctor 2 gets their own count, etc.
+     * Generates the fixed calendar for every doctor from today for {@code daysAhead} days.
+     * Weekdays get weekdaySlotCount (4-6) slots per doctor, weekends weekendSlotCount (2-3); existing slots are kept.
      */
     @Override
-    @Transactional
     public void generateSlotsForDoctors(int daysAhead) {
         LocalDate today = LocalDate.now();
-        List<Doctor> doctors = doctorRepository.findAll();
-        for (int i = 0; i < daysAhead; i++) {
-            LocalDate date = today.plusDays(i);
-            for (Doctor doctor : doctors) {
-                List<LocalTime> times = getTimesForDay(date, doctor);
-                for (LocalTime start : times) {
-                    if (slotRepository.existsByDoctorIdAndSlotDateAndStartTime(doctor.getId(), date, start)) {
-                        continue;
-                    }
-                    LocalTime end = start.plusMinutes(30);
-                    Slot slot = Slot.builder()
-                            .doctor(doctor)
-                            .slotDate(date)
-                            .startTime(start)
-                            .endTime(end)
-                            .available(true)
-                            .build();
-                    slotRepository.save(slot);
-                }
-            }
+        slotGenerationEngine.generate(today, today.plusDays(daysAhead - 1L));
+    }
+
+    @Override
+    public void generateNewlyExposedDays(int daysAhead) {
+        LocalDate today = LocalDate.now();
+        slotGenerationEngine.generateUpTo(today, today.plusDays(daysAhead - 1L));
+    }
+
+    private List<SlotResponse> withoutHeld(List<SlotResponse> slots) {
+        Set<Long> held = slotHoldRegistry.heldSlotIds();
+        if (held.isEmpty()) {
+            return slots;
         }
+        return slots.stream().filter(s -> !held.contains(s.getId())).collect(Collectors.toList());
     }
 
-    private List<LocalTime> getTimesForDay(LocalDate date, Doctor doctor) {
-        DayOfWeek day = date.getDayOfWeek();
-        boolean weekend = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
-        int count = weekend ? doctor.getWeekendSlotCount() : doctor.getWeekdaySlotCount();
-        LocalTime[] pool = weekend ? WEEKEND_TIMES : WEEKDAY_TIMES;
-        int take = Math.min(count, pool.length);
-        List<LocalTime> result = new ArrayList<>(take);
-        for (int i = 0; i < take; i++) {
-            result.add(pool[i]);
+    private List<SlotResponse> markHeld(List<SlotResponse> slots) {
+        Set<Long> held = slotHoldRegistry.heldSlotIds();
+        if (!held.isEmpty()) {
+            slots.forEach(s -> {
+                if (held.contains(s.getId())) {
+                    s.setAvailable(false);
+                }
+            });
         }
-        return result;
+        return slots;
     }
 
     private SlotResponse toResponse(Slot slot) {
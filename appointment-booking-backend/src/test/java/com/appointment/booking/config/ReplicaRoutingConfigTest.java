@@ -0,0 +1,110 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.AppointmentBookingApplication;
+import com.appointment.booking.dto.AppointmentResponse;
+import com.appointment.booking.repository.UserRepository;
+import com.appointment.booking.service.AppointmentService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application with and without {@code app.datasource.replica.url}. The replica is its own H2 database:
+ * a copy of the primary plus one appointment, so a read can tell which database answered it.
+ */
+class ReplicaRoutingConfigTest {
+
+    private static final String DB_URL =
+            "jdbc:h2:mem:replica_routing_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final String REPLICA_URL =
+            "jdbc:h2:mem:replica_routing_replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final String ADMIN_EMAIL = "admin@booking.com";
+
+    private ConfigurableApplicationContext context;
+
+    @AfterEach
+    void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void replicaEnabled_routesReadOnlyTransactionsToReplica() throws SQLException {
+        seedReplica();
+        context = start("--spring.jpa.hibernate.ddl-auto=none",
+                "--app.datasource.replica.url=" + REPLICA_URL, "--app.datasource.replica.username=sa");
+
+        assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(context.getBean(DataSourceProperties.class).getUrl()).isEqualTo(DB_URL);
+        assertThat(context.getBean("primaryDataSource", HikariDataSource.class).isReadOnly()).isFalse();
+        assertThat(context.getBean("replicaDataSource", HikariDataSource.class).isReadOnly()).isTrue();
+        assertThat(context.getBean(PlatformTransactionManager.class)).isInstanceOf(JpaTransactionManager.class);
+
+        // getMyAppointments is @Transactional(readOnly = true): it reads the appointment only the replica has.
+        AppointmentService appointments = context.getBean(AppointmentService.class);
+        Long adminId = context.getBean(UserRepository.class).findByEmail(ADMIN_EMAIL).orElseThrow().getId();
+        assertThat(appointments.getMyAppointments(adminId)).hasSize(1);
+
+        // Joined to an outer read-write transaction, the same call stays on the primary.
+        TransactionTemplate readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<AppointmentResponse> fromPrimary = readWrite.execute(status -> appointments.getMyAppointments(adminId));
+        assertThat(fromPrimary).isEmpty();
+        assertThat(context.getBean(ReplicaRoutingDataSource.class).isReplicaHealthy()).isTrue();
+    }
+
+    @Test
+    void replicaDisabled_keepsBootDataSource() {
+        context = start();
+
+        assertThat(context.getBeansOfType(ReplicaRoutingDataSource.class)).isEmpty();
+        assertThat(context.getBean(DataSource.class)).isInstanceOf(HikariDataSource.class);
+        assertThat(context.getBeansOfType(DataSourceProperties.class)).hasSize(1);
+    }
+
+    /** Boots once to build and seed the primary, copies it into the replica, then books the admin a slot there. */
+    private static void seedReplica() throws SQLException {
+        start("--spring.jpa.hibernate.ddl-auto=create").close();
+        try (Connection primary = DriverManager.getConnection(DB_URL, "sa", "");
+             Statement dump = primary.createStatement();
+             ResultSet script = dump.executeQuery("SCRIPT");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement load = replica.createStatement()) {
+            while (script.next()) {
+                load.execute(script.getString(1));
+            }
+            load.executeUpdate("INSERT INTO appointments (user_id, slot_id, status, created_at) "
+                    + "SELECT u.id, MIN(s.id), 'APPROVED', CURRENT_TIMESTAMP FROM users u, slots s "
+                    + "WHERE u.email = '" + ADMIN_EMAIL + "' GROUP BY u.id");
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + DB_URL, "--app.slot-generation.days-ahead=1"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(AppointmentBookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,73 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Two in-memory H2 databases stand in for primary and replica; each knows its own name. */
+class ReplicaRoutingDataSourceTest {
+
+    private final DriverManagerDataSource primary = node("primary");
+    private final DriverManagerDataSource replica = node("replica");
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, 60_000);
+    private final DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private final DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndOthersToPrimary() {
+        assertThat(nodeIn(true)).isEqualTo("replica");
+        assertThat(nodeIn(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(7L, "u@test.com", "USER"), null, List.of()));
+        assertThat(nodeIn(true)).isEqualTo("replica");
+        assertThat(nodeIn(false)).isEqualTo("primary");
+        assertThat(nodeIn(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhileReplicaIsDown() {
+        routing.markReplicaHealthy(false);
+        assertThat(nodeIn(true)).isEqualTo("primary");
+        routing.checkReplica();
+        assertThat(routing.isReplicaHealthy()).isTrue();
+        assertThat(nodeIn(true)).isEqualTo("replica");
+    }
+
+    private String nodeIn(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DriverManagerDataSource node(String name) {
+        DriverManagerDataSource ds = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return ds;
+    }
+}
@@ -0,0 +1,112 @@
+package com.appointment.booking.config;
+
+import com.appointment.booking.AppointmentBookingApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Boots contexts against a private H2 database that outlives them, the way test contexts share one database:
+ * create-drop rebuilds the tables while {@code schema_migrations} keeps its recorded versions.
+ */
+class SchemaMigrationRunnerTest {
+
+    private static final String DB_URL =
+            "jdbc:h2:mem:schema_migrations_test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final LocalDate DAY = LocalDate.of(2000, 1, 3);
+
+    private ConfigurableApplicationContext context;
+
+    @AfterEach
+    void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void secondContextOnRebuiltTablesRecreatesIndexes() {
+        start().close();
+        context = start();
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM schema_migrations", Integer.class)).isEqualTo(3);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE INDEX_NAME = 'UK_SLOTS_DOCTOR_DATE_START'", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateSlotsKeepTheBookedRowMoveHistoryAndFailWhenSeveralAreBooked() {
+        context = start();
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        SchemaMigrationRunner runner = context.getBean(SchemaMigrationRunner.class);
+        Long doctorId = jdbc.queryForObject("SELECT MIN(id) FROM doctors", Long.class);
+        Long userId = jdbc.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        jdbc.execute("DROP INDEX uk_slots_doctor_date_start");
+
+        long oldFree = insertSlot(jdbc, doctorId, LocalTime.of(9, 0));
+        long newBooked = insertSlot(jdbc, doctorId, LocalTime.of(9, 0));
+        book(jdbc, userId, newBooked, "APPROVED");
+        runner.run();
+        assertThat(slotIdsAt(jdbc, doctorId, LocalTime.of(9, 0))).containsExactly(newBooked);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM slots WHERE id = ?", Integer.class, oldFree)).isZero();
+
+        // Only inactive history on both duplicates: merged onto the oldest, appointments kept
+        jdbc.execute("DROP INDEX uk_slots_doctor_date_start");
+        long rejected = insertSlot(jdbc, doctorId, LocalTime.of(11, 0));
+        long completed = insertSlot(jdbc, doctorId, LocalTime.of(11, 0));
+        book(jdbc, userId, rejected, "REJECTED");
+        book(jdbc, userId, completed, "COMPLETED");
+        runner.run();
+        assertThat(slotIdsAt(jdbc, doctorId, LocalTime.of(11, 0))).containsExactly(rejected);
+        assertThat(jdbc.queryForList("SELECT status FROM appointments WHERE slot_id = ? ORDER BY status",
+                String.class, rejected)).containsExactly("COMPLETED", "REJECTED");
+
+        jdbc.execute("DROP INDEX uk_slots_doctor_date_start");
+        long first = insertSlot(jdbc, doctorId, LocalTime.of(10, 0));
+        long second = insertSlot(jdbc, doctorId, LocalTime.of(10, 0));
+        book(jdbc, userId, first, "APPROVED");
+        book(jdbc, userId, second, "PENDING");
+        assertThatThrownBy(runner::run)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("slots [" + first + ", " + second + "]");
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(AppointmentBookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=" + DB_URL, "--app.slot-generation.days-ahead=1");
+    }
+
+    private static long insertSlot(JdbcTemplate jdbc, Long doctorId, LocalTime start) {
+        jdbc.update("INSERT INTO slots (doctor_id, slot_date, start_time, end_time, available) VALUES (?, ?, ?, ?, ?)",
+                doctorId, Date.valueOf(DAY), Time.valueOf(start), Time.valueOf(start.plusMinutes(30)), true);
+        return jdbc.queryForObject("SELECT MAX(id) FROM slots", Long.class);
+    }
+
+    private static void book(JdbcTemplate jdbc, Long userId, long slotId, String status) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbc.update("INSERT INTO appointments (user_id, slot_id, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                userId, slotId, status, now, now);
+    }
+
+    private static List<Long> slotIdsAt(JdbcTemplate jdbc, Long doctorId, LocalTime start) {
+        return jdbc.queryForList("SELECT id FROM slots WHERE doctor_id = ? AND slot_date = ? AND start_time = ?",
+                Long.class, doctorId, Date.valueOf(DAY), Time.valueOf(start));
+    }
+}
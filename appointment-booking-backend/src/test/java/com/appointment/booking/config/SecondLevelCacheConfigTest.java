@@ -0,0 +1,41 @@
+package com.appointment.booking.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Boots the full context with the second-level cache on and checks the region settings are the configured ones. */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void contextStartsWithSecondLevelCacheAndConfiguredRegions() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isTrue();
+        assertThat(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()).isTrue();
+        assertThat(sessionFactory.getStatistics().isStatisticsEnabled()).isTrue();
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "doctors").meters())
+                .isNotEmpty();
+
+        CaffeineConfiguration<Object, Object> doctors = TypesafeConfigurator
+                .<Object, Object>from(ConfigFactory.load(), "doctors")
+                .orElseThrow();
+        assertThat(doctors.getMaximumSize()).hasValue(5000);
+    }
+}
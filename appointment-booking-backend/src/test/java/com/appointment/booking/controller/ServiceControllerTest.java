@@ -0,0 +1,56 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.service.ReferenceDataCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServiceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Test
+    @WithMockUser
+    void listServices_returnsEtagAndNotModifiedOnMatch() throws Exception {
+        String etag = mockMvc.perform(get("/api/services"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].name").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/services").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    void doctorsByUnknownService_returnsEmptyListWithoutCaching() throws Exception {
+        int before = referenceDataCache.size();
+
+        for (long serviceId = 900_000; serviceId < 900_010; serviceId++) {
+            mockMvc.perform(get("/api/doctors/by-service/" + serviceId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("[]"));
+        }
+
+        assertThat(referenceDataCache.contains("doctors:service:900000")).isFalse();
+        assertThat(referenceDataCache.size()).isLessThanOrEqualTo(before);
+    }
+}
@@ -0,0 +1,131 @@
+package com.appointment.booking.controller;
+
+import com.appointment.booking.dto.AppointmentResponse;
+import com.appointment.booking.dto.BookAppointmentRequest;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.repository.AppointmentRepository;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.UserRepository;
+import com.appointment.booking.security.JwtUtil;
+import com.appointment.booking.service.AppointmentService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Subscribes the way a browser EventSource does, with the token as a query parameter, then books a slot. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlotChangeStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void subscribeThenBook_streamsSlotEvent() throws Exception {
+        Doctor doctor = doctorRepository.findAllWithService().get(0);
+        LocalDate day = LocalDate.now().plusDays(3);
+        Slot slot = slotRepository.findByDoctorIdAndSlotDateAndAvailableTrue(doctor.getId(), day).get(0);
+        User user = userRepository.save(User.builder()
+                .email("stream@example.com")
+                .password("pw")
+                .name("Stream")
+                .role(User.Role.USER)
+                .build());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), "USER");
+
+        mockMvc.perform(get("/api/slots/changes")
+                        .param("doctorId", doctor.getId().toString())
+                        .param("date", day.toString()))
+                .andExpect(status().is4xxClientError());
+
+        MvcResult subscription = mockMvc.perform(get("/api/slots/changes")
+                        .param("doctorId", doctor.getId().toString())
+                        .param("date", day.toString())
+                        .param("access_token", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        AppointmentResponse booked = appointmentService.book(user.getId(),
+                BookAppointmentRequest.builder().slotId(slot.getId()).build());
+        try {
+            JsonNode event = awaitSlotEvent(subscription.getResponse(), slot.getId());
+            assertThat(event.get("doctorId").asLong()).isEqualTo(doctor.getId());
+            assertThat(event.get("slotDate").asText()).isEqualTo(day.toString());
+            assertThat(event.get("available").asBoolean()).isFalse();
+        } finally {
+            appointmentService.cancel(user.getId(), booked.getId());
+            appointmentRepository.deleteById(booked.getId());
+            userRepository.delete(user);
+        }
+    }
+
+    /**
+     * Waits for a complete {@code slot} frame (terminated by a blank line) about {@code slotId} and returns its
+     * parsed data; the sender may still be writing the tail of the buffer while it is read.
+     */
+    private JsonNode awaitSlotEvent(MockHttpServletResponse response, Long slotId) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            String body = response.getContentAsString();
+            int end = body.lastIndexOf("\n\n");
+            for (String frame : end < 0 ? new String[0] : body.substring(0, end).split("\n\n")) {
+                if (!frame.startsWith("event:slot\n")) {
+                    continue;
+                }
+                StringBuilder data = new StringBuilder();
+                for (String line : frame.split("\n")) {
+                    if (line.startsWith("data:")) {
+                        data.append(line.substring(5));
+                    }
+                }
+                JsonNode event = objectMapper.readTree(data.toString());
+                if (event.get("slotId").asLong() == slotId) {
+                    return event;
+                }
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("No complete slot event for slot " + slotId + " in: " + body);
+            }
+            Thread.sleep(20);
+        }
+    }
+}
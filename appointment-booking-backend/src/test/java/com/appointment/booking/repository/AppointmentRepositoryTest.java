@@ -1,5 +1,6 @@
 package com.appointment.booking.repository;
 
+import com.appointment.booking.dto.SlotResponse;
 import com.appointment.booking.entity.*;
 import com.appointment.booking.entity.Appointment.AppointmentStatus;
 import org.junit.jupiter.api.Test;
@@ -115,4 +116,50 @@ class AppointmentRepositoryTest {
         assertThat(list).hasSize(2);
         assertThat(list.get(0).getId()).isNotNull();
     }
+
+    @Test
+    void findSlotStatesForDoctor_flagsSlotsWithActiveAppointments() {
+        AppointmentService service = appointmentServiceRepository.save(AppointmentService.builder()
+                .name("General")
+                .description("General")
+                .build());
+
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .name("Dr A")
+                .service(service)
+                .weekdaySlotCount(4)
+                .weekendSlotCount(2)
+                .build());
+
+        Slot booked = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(LocalDate.now())
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(9, 30))
+                .available(true)
+                .build());
+
+        Slot free = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(LocalDate.now())
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(10, 30))
+                .available(true)
+                .build());
+
+        User user = userRepository.save(User.builder()
+                .email("u3@example.com")
+                .password("pw")
+                .name("User Three")
+                .role(User.Role.USER)
+                .build());
+
+        appointmentRepository.save(Appointment.builder().user(user).slot(booked).status(AppointmentStatus.PENDING).build());
+
+        List<SlotResponse> states = slotRepository.findSlotStatesForDoctor(doctor.getId(), LocalDate.now(), LocalDate.now(),
+                List.of(AppointmentStatus.PENDING, AppointmentStatus.APPROVED));
+        assertThat(states).extracting(SlotResponse::getId).containsExactly(booked.getId(), free.getId());
+        assertThat(states).extracting(SlotResponse::isAvailable).containsExactly(false, true);
+        assertThat(states.get(0).getServiceName()).isEqualTo("General");
+    }
 }
@@ -0,0 +1,60 @@
+package com.appointment.booking.repository;
+
+import com.appointment.booking.entity.AppointmentService;
+import com.appointment.booking.entity.Doctor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Runs without a test transaction so every repository call commits and uses its own session. */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DoctorRepositoryTest {
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentServiceRepository appointmentServiceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findById_isServedFromSecondLevelCacheAndSeesUpdates() {
+        AppointmentService service = appointmentServiceRepository.save(AppointmentService.builder()
+                .name("Cached")
+                .description("Cached")
+                .build());
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .name("Dr Cached")
+                .service(service)
+                .weekdaySlotCount(4)
+                .weekendSlotCount(2)
+                .build());
+        try {
+            Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            stats.clear();
+
+            doctorRepository.findById(doctor.getId()).orElseThrow();
+            doctorRepository.findById(doctor.getId()).orElseThrow();
+            assertThat(stats.getDomainDataRegionStatistics("doctors").getHitCount()).isGreaterThanOrEqualTo(1);
+
+            doctor.setName("Dr Renamed");
+            doctorRepository.save(doctor);
+            assertThat(doctorRepository.findById(doctor.getId()).orElseThrow().getName()).isEqualTo("Dr Renamed");
+        } finally {
+            doctorRepository.delete(doctor);
+            appointmentServiceRepository.delete(service);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.appointment.booking.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** One hashing thread and a queue of one: with both taken by blocked hashes, the next login is turned away. */
+@SpringBootTest(properties = {"app.password-hashing.threads=1", "app.password-hashing.queue-capacity=1",
+        "app.password-hashing.wait-ms=10000"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordHashingServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private GatedPasswordEncoder gatedPasswordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void login_returns503WhenHashingQueueIsFull() throws Exception {
+        String hash = passwordHashingService.encode("secret");
+        double rejectedBefore = meterRegistry.counter("auth.password.hash.rejected").count();
+        CountDownLatch gate = gatedPasswordEncoder.close();
+        // Own callers rather than the common pool, which other tests in this JVM may keep busy
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<Boolean> running = callers.submit(() -> passwordHashingService.matches("secret", hash));
+        Future<Boolean> queued = callers.submit(() -> passwordHashingService.matches("secret", hash));
+        try {
+            awaitGauge("auth.password.hash.active", 1);
+            awaitGauge("auth.password.hash.queue", 1);
+
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"admin@booking.com\",\"password\":\"admin123\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.error").exists());
+            assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isEqualTo(rejectedBefore + 1);
+        } finally {
+            gate.countDown();
+            callers.shutdown();
+        }
+        assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get(name).gauge().value() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get(name).gauge().value()).isEqualTo(expected);
+    }
+
+    @TestConfiguration
+    static class GateConfig {
+
+        @Bean
+        @Primary
+        GatedPasswordEncoder gatedPasswordEncoder() {
+            return new GatedPasswordEncoder();
+        }
+    }
+
+    /** BCrypt that, once closed, holds every matches() call until the returned latch is counted down. */
+    static class GatedPasswordEncoder implements PasswordEncoder {
+        private final PasswordEncoder delegate = new BCryptPasswordEncoder(4);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        CountDownLatch close() {
+            gate = new CountDownLatch(1);
+            return gate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.appointment.booking.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(2, registry);
+
+    @Test
+    void get_returnsPrincipalUntilExpiryAndCountsHitsAndMisses() {
+        UserPrincipal principal = new UserPrincipal(1L, "a@test.com", "USER");
+        cache.put("token-a", principal, System.currentTimeMillis() + 60_000);
+        cache.put("token-expired", principal, System.currentTimeMillis() - 1);
+
+        assertThat(cache.get("token-a")).isSameAs(principal);
+        assertThat(cache.get("token-expired")).isNull();
+        assertThat(cache.get("unknown")).isNull();
+        assertThat(registry.counter("jwt.verification.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(registry.counter("jwt.verification.cache", "result", "miss").count()).isEqualTo(2);
+    }
+
+    @Test
+    void put_staysWithinCapacity() {
+        long expiry = System.currentTimeMillis() + 60_000;
+        cache.put("t1", new UserPrincipal(1L, "1@test.com", "USER"), expiry);
+        cache.put("t2", new UserPrincipal(2L, "2@test.com", "USER"), expiry);
+        cache.put("t3", new UserPrincipal(3L, "3@test.com", "USER"), expiry);
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_missesOnceTheTokenItselfExpires() throws InterruptedException {
+        UserPrincipal principal = new UserPrincipal(1L, "a@test.com", "USER");
+        cache.put("short-lived", principal, System.currentTimeMillis() + 50);
+        assertThat(cache.get("short-lived")).isSameAs(principal);
+
+        Thread.sleep(100);
+
+        assertThat(cache.get("short-lived")).isNull();
+    }
+}
@@ -0,0 +1,166 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.AppointmentResponse;
+import com.appointment.booking.entity.Appointment;
+import com.appointment.booking.entity.Appointment.AppointmentStatus;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The sweeper moves PENDING/APPROVED appointments on ended slots to COMPLETED; the listing only derives it.
+ * The scheduled tick is pushed out so sweep() runs only when the test calls it.
+ */
+@SpringBootTest(properties = {"app.slot-index.enabled=false", "app.auto-complete.interval-ms=3600000"})
+@ActiveProfiles("test")
+@Transactional
+class AppointmentAutoCompleterTest {
+
+    @Autowired
+    private AppointmentAutoCompleter autoCompleter;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentServiceRepository appointmentServiceRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User patient;
+    private Doctor doctor;
+
+    @BeforeEach
+    void seed() {
+        patient = userRepository.save(User.builder()
+                .email("sweep@example.com")
+                .password("pw")
+                .name("Sweep")
+                .role(User.Role.USER)
+                .build());
+        com.appointment.booking.entity.AppointmentService svc = appointmentServiceRepository.save(
+                com.appointment.booking.entity.AppointmentService.builder()
+                        .name("Sweep")
+                        .description("Sweep")
+                        .build());
+        doctor = doctorRepository.save(Doctor.builder()
+                .name("Dr Sweep")
+                .service(svc)
+                .weekdaySlotCount(4)
+                .weekendSlotCount(2)
+                .build());
+    }
+
+    @Test
+    void sweep_completesOnlyActiveAppointmentsWhoseSlotHasEnded() {
+        // A slot ending earlier today needs a little of today behind us.
+        LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
+        assumeTrue(now.isAfter(LocalTime.of(0, 2)));
+        LocalDate today = LocalDate.now();
+
+        Appointment endedPending = book(today.minusDays(1), LocalTime.of(22, 0), AppointmentStatus.PENDING);
+        Appointment endedApproved = book(today.minusDays(1), LocalTime.of(22, 30), AppointmentStatus.APPROVED);
+        Appointment endedRejected = book(today.minusDays(1), LocalTime.of(23, 0), AppointmentStatus.REJECTED);
+        Appointment earlierTodayPending = bookEnding(today, now.minusMinutes(1), AppointmentStatus.PENDING);
+        Appointment earlierTodayApproved = bookEnding(today, now.minusSeconds(90), AppointmentStatus.APPROVED);
+        Appointment upcomingPending = book(today.plusDays(1), LocalTime.of(22, 0), AppointmentStatus.PENDING);
+        Appointment upcomingApproved = book(today.plusDays(1), LocalTime.of(22, 30), AppointmentStatus.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(autoCompleter.sweep()).isEqualTo(4);
+        entityManager.clear();
+
+        assertThat(statusOf(endedPending)).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(statusOf(endedApproved)).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(statusOf(earlierTodayPending)).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(statusOf(earlierTodayApproved)).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(statusOf(endedRejected)).isEqualTo(AppointmentStatus.REJECTED);
+        assertThat(statusOf(upcomingPending)).isEqualTo(AppointmentStatus.PENDING);
+        assertThat(statusOf(upcomingApproved)).isEqualTo(AppointmentStatus.APPROVED);
+
+        assertThat(autoCompleter.sweep()).isZero();
+    }
+
+    @Test
+    void getMyAppointments_showsEndedAsCompletedWithoutWriting() {
+        LocalDate today = LocalDate.now();
+        Appointment ended = book(today.minusDays(1), LocalTime.of(22, 0), AppointmentStatus.PENDING);
+        Appointment upcoming = book(today.plusDays(1), LocalTime.of(22, 0), AppointmentStatus.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        statistics.clear();
+        Map<Long, AppointmentResponse> listed = appointmentService.getMyAppointments(patient.getId()).stream()
+                .collect(Collectors.toMap(AppointmentResponse::getId, Function.identity()));
+        entityManager.flush();
+
+        assertThat(listed.get(ended.getId()).getStatus()).isEqualTo(AppointmentStatus.COMPLETED.name());
+        assertThat(listed.get(upcoming.getId()).getStatus()).isEqualTo(AppointmentStatus.APPROVED.name());
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        entityManager.clear();
+        assertThat(statusOf(ended)).isEqualTo(AppointmentStatus.PENDING);
+    }
+
+    private Appointment book(LocalDate date, LocalTime start, AppointmentStatus status) {
+        return bookEnding(date, start.plusMinutes(30), status);
+    }
+
+    private Appointment bookEnding(LocalDate date, LocalTime end, AppointmentStatus status) {
+        Slot slot = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(date)
+                .startTime(end.minusMinutes(30))
+                .endTime(end)
+                .available(false)
+                .build());
+        return appointmentRepository.save(Appointment.builder()
+                .user(patient)
+                .slot(slot)
+                .status(status)
+                .build());
+    }
+
+    private AppointmentStatus statusOf(Appointment appointment) {
+        return appointmentRepository.findById(appointment.getId()).orElseThrow().getStatus();
+    }
+}
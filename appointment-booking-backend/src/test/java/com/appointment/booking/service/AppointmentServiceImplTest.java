@@ -1,6 +1,9 @@
 package com.appointment.booking.service;
 
+import com.appointment.booking.dto.BatchBookingRequest;
 import com.appointment.booking.dto.BookAppointmentRequest;
+import com.appointment.booking.dto.BulkStatusRequest;
+import com.appointment.booking.dto.BulkStatusResult;
 import com.appointment.booking.dto.AppointmentResponse;
 import com.appointment.booking.entity.Appointment;
 import com.appointment.booking.entity.Appointment.AppointmentStatus;
@@ -8,15 +11,18 @@ import com.appointment.booking.entity.Doctor;
 import com.appointment.booking.entity.Slot;
 import com.appointment.booking.entity.User;
 import com.appointment.booking.exception.BadRequestException;
+import com.appointment.booking.exception.SlotConflictException;
 import com.appointment.booking.repository.*;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -44,6 +50,12 @@ class AppointmentServiceImplTest {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private SlotHoldRegistry slotHoldRegistry;
+
     @Test
     void book_createsPendingAppointment() {
         User user = userRepository.save(User.builder()
@@ -128,4 +140,220 @@ class AppointmentServiceImplTest {
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("slot is no longer available");
     }
+
+    @Test
+    void book_rejectsSlotHeldByAnotherUserAndHonoursOwnHold() {
+        User holder = userRepository.save(User.builder()
+                .email("holder@example.com")
+                .password("pw")
+                .name("Holder")
+                .role(User.Role.USER)
+                .build());
+
+        User other = userRepository.save(User.builder()
+                .email("other@example.com")
+                .password("pw")
+                .name("Other")
+                .role(User.Role.USER)
+                .build());
+
+        com.appointment.booking.entity.AppointmentService svc = appointmentServiceRepository.save(com.appointment.booking.entity.AppointmentService.builder()
+                .name("General")
+                .description("General")
+                .build());
+
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .name("Dr Test")
+                .service(svc)
+                .weekdaySlotCount(4)
+                .weekendSlotCount(2)
+                .build());
+
+        Slot slot = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(12, 0))
+                .endTime(LocalTime.of(12, 30))
+                .available(true)
+                .build());
+
+        slotService.holdSlot(holder.getId(), slot.getId(), 60);
+
+        assertThatThrownBy(() -> appointmentService.book(other.getId(), BookAppointmentRequest.builder().slotId(slot.getId()).build()))
+                .isInstanceOf(SlotConflictException.class);
+
+        AppointmentResponse resp = appointmentService.book(holder.getId(), BookAppointmentRequest.builder()
+                .slotId(slot.getId())
+                .build());
+        assertThat(resp.getStatus()).isEqualTo("PENDING");
+        // The booking has not committed yet, so the hold still guards the slot.
+        assertThat(slotHoldRegistry.isHeldBy(slot.getId(), holder.getId())).isTrue();
+    }
+
+    @Test
+    void bookBatch_isAllOrNothing() {
+        User user = userRepository.save(User.builder()
+                .email("family@example.com")
+                .password("pw")
+                .name("Family")
+                .role(User.Role.USER)
+                .build());
+
+        com.appointment.booking.entity.AppointmentService svc = appointmentServiceRepository.save(com.appointment.booking.entity.AppointmentService.builder()
+                .name("General")
+                .description("General")
+                .build());
+
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .name("Dr Test")
+                .service(svc)
+                .weekdaySlotCount(4)
+                .weekendSlotCount(2)
+                .build());
+
+        Slot first = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(14, 0))
+                .endTime(LocalTime.of(14, 30))
+                .available(true)
+                .build());
+        Slot second = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(15, 0))
+                .endTime(LocalTime.of(15, 30))
+                .available(true)
+                .build());
+        Slot taken = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(16, 0))
+                .endTime(LocalTime.of(16, 30))
+                .available(true)
+                .build());
+        appointmentRepository.save(Appointment.builder()
+                .user(user)
+                .slot(taken)
+                .status(AppointmentStatus.APPROVED)
+                .build());
+
+        assertThatThrownBy(() -> appointmentService.bookBatch(user.getId(), BatchBookingRequest.builder()
+                .slotIds(List.of(first.getId(), taken.getId()))
+                .build()))
+                .isInstanceOf(SlotConflictException.class);
+        assertThat(appointmentRepository.findSlotIdsWithStatusIn(List.of(first.getId()), List.of(AppointmentStatus.PENDING)))
+                .isEmpty();
+
+        List<AppointmentResponse> booked = appointmentService.bookBatch(user.getId(), BatchBookingRequest.builder()
+                .slotIds(List.of(first.getId(), second.getId()))
+                .build());
+        assertThat(booked).extracting(AppointmentResponse::getSlotId).containsExactly(first.getId(), second.getId());
+        assertThat(booked).allMatch(r -> "PENDING".equals(r.getStatus()) && r.getId() != null);
+    }
+
+    @Test
+    void updateStatusesByAdmin_rejectsEligibleAndReportsPerId() {
+        User user = userRepository.save(User.builder()
+                .email("bulk@example.com")
+                .password("pw")
+                .name("Bulk")
+                .role(User.Role.USER)
+                .build());
+
+        com.appointment.booking.entity.AppointmentService svc = appointmentServiceRepository.save(com.appointment.booking.entity.AppointmentService.builder()
+                .name("General")
+                .description("General")
+                .build());
+
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .name("Dr Test")
+                .service(svc)
+                .weekdaySlotCount(4)
+                .weekendSlotCount(2)
+                .build());
+
+        Slot slot1 = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(LocalDate.now().plusDays(2))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(9, 30))
+                .available(false)
+                .build());
+        Slot slot2 = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(LocalDate.now().plusDays(2))
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(10, 30))
+                .available(true)
+                .build());
+        Appointment pending = appointmentRepository.save(Appointment.builder()
+                .user(user)
+                .slot(slot1)
+                .status(AppointmentStatus.PENDING)
+                .build());
+        Appointment rejected = appointmentRepository.save(Appointment.builder()
+                .user(user)
+                .slot(slot2)
+                .status(AppointmentStatus.REJECTED)
+                .build());
+
+        List<BulkStatusResult> results = appointmentService.updateStatusesByAdmin(BulkStatusRequest.builder()
+                .appointmentIds(List.of(pending.getId(), rejected.getId(), -1L))
+                .status("rejected")
+                .build());
+
+        assertThat(results).extracting(BulkStatusResult::getResult).containsExactly("UPDATED", "SKIPPED", "NOT_FOUND");
+        assertThat(results.get(0).getStatus()).isEqualTo("REJECTED");
+        assertThat(appointmentRepository.findSlotIdsWithStatusIn(List.of(slot1.getId()), List.of(AppointmentStatus.REJECTED)))
+                .containsExactly(slot1.getId());
+    }
+
+    /**
+     * Runs outside the test transaction so bookBatch commits or rolls back for real. The taken slot has no
+     * appointment, so only the claim UPDATE can notice it, after the free slot was already claimed.
+     * The caller's hold on the free slot survives the rollback.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void bookBatch_rollsBackPartialClaim() {
+        User user = userRepository.save(User.builder()
+                .email("partial@example.com")
+                .password("pw")
+                .name("Partial")
+                .role(User.Role.USER)
+                .build());
+        Doctor doctor = doctorRepository.findAll().get(0);
+        LocalDate day = LocalDate.now().plusDays(120);
+        Slot free = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(day)
+                .startTime(LocalTime.of(21, 0))
+                .endTime(LocalTime.of(21, 30))
+                .available(true)
+                .build());
+        Slot taken = slotRepository.save(Slot.builder()
+                .doctor(doctor)
+                .slotDate(day)
+                .startTime(LocalTime.of(21, 30))
+                .endTime(LocalTime.of(22, 0))
+                .available(false)
+                .build());
+        slotService.holdSlot(user.getId(), free.getId(), 60);
+        try {
+            assertThatThrownBy(() -> appointmentService.bookBatch(user.getId(), BatchBookingRequest.builder()
+                    .slotIds(List.of(free.getId(), taken.getId()))
+                    .build()))
+                    .isInstanceOf(SlotConflictException.class);
+
+            assertThat(slotRepository.findById(free.getId()).orElseThrow().isAvailable()).isTrue();
+            assertThat(appointmentRepository.findSlotIdsWithStatusIn(List.of(free.getId(), taken.getId()),
+                    List.of(AppointmentStatus.values()))).isEmpty();
+            assertThat(slotHoldRegistry.isHeldBy(free.getId(), user.getId())).isTrue();
+        } finally {
+            slotHoldRegistry.release(free.getId(), user.getId());
+            slotRepository.deleteAllById(List.of(free.getId(), taken.getId()));
+            userRepository.delete(user);
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.AppointmentResponse;
+import com.appointment.booking.dto.AvailabilitySummaryResponse;
+import com.appointment.booking.dto.BookAppointmentRequest;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.event.SlotAvailabilityChangedEvent;
+import com.appointment.booking.event.SlotChange;
+import com.appointment.booking.repository.AppointmentRepository;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.SlotRepository;
+import com.appointment.booking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Not transactional: the summary cache is only evicted once a booking commits. */
+@SpringBootTest
+@ActiveProfiles("test")
+class AvailabilitySummaryTest {
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void summary_countsPerDoctorAndDayAndIsEvictedByBooking() {
+        Doctor doctor = doctorRepository.findAllWithService().get(0);
+        Long serviceId = doctor.getService().getId();
+        LocalDate day = LocalDate.now().plusDays(2);
+        Slot slot = slotRepository.findByDoctorIdAndSlotDateAndAvailableTrue(doctor.getId(), day).get(0);
+        User user = userRepository.save(User.builder()
+                .email("summary@example.com")
+                .password("pw")
+                .name("Summary")
+                .role(User.Role.USER)
+                .build());
+
+        AvailabilitySummaryResponse before = summaryFor(serviceId, doctor.getId(), day);
+        assertThat(before.getFreeSlots()).isEqualTo((long)
+                slotRepository.findByDoctorIdAndSlotDateAndAvailableTrue(doctor.getId(), day).size());
+
+        AppointmentResponse booked = appointmentService.book(user.getId(),
+                BookAppointmentRequest.builder().slotId(slot.getId()).build());
+        try {
+            AvailabilitySummaryResponse after = summaryFor(serviceId, doctor.getId(), day);
+            assertThat(after.getFreeSlots()).isEqualTo(before.getFreeSlots() - 1);
+            assertThat(after.getBookedSlots()).isEqualTo(before.getBookedSlots() + 1);
+        } finally {
+            appointmentService.cancel(user.getId(), booked.getId());
+            appointmentRepository.deleteById(booked.getId());
+            userRepository.delete(user);
+        }
+    }
+
+    @Test
+    void summaryCache_keepsCachingWhenFullAndEvictsByDoctorFromEventData() {
+        YearMonth month = YearMonth.of(2099, 3);
+        AtomicInteger loads = new AtomicInteger();
+
+        AvailabilitySummaryCache full = new AvailabilitySummaryCache(2, 300);
+        for (long serviceId = 1; serviceId <= 3; serviceId++) {
+            full.get(serviceId, month, () -> load(loads, 10L));
+        }
+        full.get(3L, month, () -> load(loads, 10L));
+        assertThat(loads).hasValue(3);
+
+        AvailabilitySummaryCache cache = new AvailabilitySummaryCache(16, 300);
+        loads.set(0);
+        cache.get(1L, month, () -> load(loads, 10L));
+        cache.get(2L, month, () -> load(loads, 20L));
+        cache.onAvailabilityChanged(change(20L, month.atDay(5)));
+        cache.get(1L, month, () -> load(loads, 10L));
+        cache.get(2L, month, () -> load(loads, 20L));
+        assertThat(loads).hasValue(3);
+
+        // A doctor no summary has shown yet could belong to any service
+        cache.onAvailabilityChanged(change(30L, month.atDay(5)));
+        cache.get(1L, month, () -> load(loads, 10L));
+        cache.get(2L, month, () -> load(loads, 20L));
+        assertThat(loads).hasValue(5);
+    }
+
+    private static List<AvailabilitySummaryResponse> load(AtomicInteger loads, Long doctorId) {
+        loads.incrementAndGet();
+        return List.of(AvailabilitySummaryResponse.builder()
+                .slotDate(LocalDate.of(2099, 3, 5))
+                .doctorId(doctorId)
+                .doctorName("Doctor " + doctorId)
+                .freeSlots(1L)
+                .bookedSlots(0L)
+                .build());
+    }
+
+    private static SlotAvailabilityChangedEvent change(Long doctorId, LocalDate day) {
+        return SlotAvailabilityChangedEvent.of(new SlotChange(1L, doctorId, day,
+                LocalTime.of(9, 0), LocalTime.of(9, 30), false));
+    }
+
+    private AvailabilitySummaryResponse summaryFor(Long serviceId, Long doctorId, LocalDate day) {
+        return slotService.getAvailabilitySummary(serviceId, day, day).stream()
+                .filter(s -> s.getDoctorId().equals(doctorId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,143 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.BookAppointmentRequest;
+import com.appointment.booking.dto.SlotRequest;
+import com.appointment.booking.dto.SlotResponse;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.exception.SlotConflictException;
+import com.appointment.booking.repository.AppointmentRepository;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional on purpose: each booking must commit on its own thread for the race to be real.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingContentionTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private SlotLocks slotLocks;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void book_sameSlotFromManyThreads_exactlyOneWins() throws Exception {
+        SlotResponse slot = createSlot(LocalTime.of(20, 0));
+        List<User> users = createUsers("race", THREADS);
+
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (User user : users) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    appointmentService.book(user.getId(), BookAppointmentRequest.builder().slotId(slot.getId()).build());
+                    wins.incrementAndGet();
+                } catch (SlotConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(wins.get()).isEqualTo(1);
+        assertThat(conflicts.get()).isEqualTo(THREADS - 1);
+        assertThat(appointmentRepository.existsBySlotIdAndStatusIn(slot.getId(),
+                List.of(com.appointment.booking.entity.Appointment.AppointmentStatus.PENDING))).isTrue();
+    }
+
+    @Test
+    void slotLocks_onlyTurnAwayBookingsOfTheSameSlot() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            tx.executeWithoutResult(status -> {
+                slotLocks.lockForTransaction(1_000_001L);
+                try {
+                    // Bookings of other slots never wait on the held one
+                    other.submit(() -> tx.executeWithoutResult(s -> {
+                        for (long slotId = 1; slotId <= 64; slotId++) {
+                            slotLocks.lockForTransaction(slotId, slotId + 64);
+                        }
+                    })).get(10, TimeUnit.SECONDS);
+                    Future<?> same = other.submit(() -> tx.executeWithoutResult(
+                            s -> slotLocks.lockForTransaction(1_000_001L)));
+                    assertThatThrownBy(() -> same.get(10, TimeUnit.SECONDS))
+                            .hasCauseInstanceOf(SlotConflictException.class);
+                } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            other.shutdown();
+        }
+        assertThat(slotLocks.size()).isZero();
+    }
+
+    private SlotResponse createSlot(LocalTime start) {
+        Doctor doctor = doctorRepository.findAll().get(0);
+        return slotService.createSlot(SlotRequest.builder()
+                .doctorId(doctor.getId())
+                .slotDate(LocalDate.now().plusDays(90))
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .build());
+    }
+
+    private List<User> createUsers(String prefix, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(userRepository.save(User.builder()
+                    .email(prefix + i + "@contention.test")
+                    .password("pw")
+                    .name("Racer " + i)
+                    .role(User.Role.USER)
+                    .build()));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,149 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.AdminAppointmentFilter;
+import com.appointment.booking.entity.Appointment;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.entity.Slot;
+import com.appointment.booking.entity.User;
+import com.appointment.booking.repository.*;
+import com.appointment.booking.support.QueryBudget;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read paths must issue a fixed number of statements however many rows they return.
+ * The slot index is disabled so slot reads go to the database.
+ */
+@SpringBootTest(properties = {"app.slot-index.enabled=false", "app.auto-complete.interval-ms=3600000"})
+@ActiveProfiles("test")
+@Transactional
+class ReadQueryBudgetTest {
+
+    private static final int DOCTORS = 3;
+    private static final int SLOTS_PER_DOCTOR = 8;
+    private static final int BOOKED_PER_DOCTOR = 3;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentServiceRepository appointmentServiceRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDate day = LocalDate.now().plusDays(3);
+    private User patient;
+    private Doctor firstDoctor;
+
+    @BeforeEach
+    void seed() {
+        patient = userRepository.save(User.builder()
+                .email("budget@example.com")
+                .password("pw")
+                .name("Budget")
+                .role(User.Role.USER)
+                .build());
+        com.appointment.booking.entity.AppointmentService svc = appointmentServiceRepository.save(
+                com.appointment.booking.entity.AppointmentService.builder()
+                        .name("Budget")
+                        .description("Budget")
+                        .build());
+        for (int d = 0; d < DOCTORS; d++) {
+            Doctor doctor = doctorRepository.save(Doctor.builder()
+                    .name("Dr Budget " + d)
+                    .service(svc)
+                    .weekdaySlotCount(4)
+                    .weekendSlotCount(2)
+                    .build());
+            if (firstDoctor == null) {
+                firstDoctor = doctor;
+            }
+            for (int s = 0; s < SLOTS_PER_DOCTOR; s++) {
+                boolean booked = s < BOOKED_PER_DOCTOR;
+                Slot slot = slotRepository.save(Slot.builder()
+                        .doctor(doctor)
+                        .slotDate(day)
+                        .startTime(LocalTime.of(8, 0).plusMinutes(30L * s))
+                        .endTime(LocalTime.of(8, 30).plusMinutes(30L * s))
+                        .available(!booked)
+                        .build());
+                if (booked) {
+                    appointmentRepository.save(Appointment.builder().user(patient).slot(slot).build());
+                }
+            }
+        }
+        // Nothing left pending or cached in the session, so only the test body's reads are counted.
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @QueryBudget(1)
+    void slotsForDate() {
+        assertThat(slotService.getSlotsForDate(firstDoctor.getId(), day)).hasSize(SLOTS_PER_DOCTOR);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void slotsForRange() {
+        assertThat(slotService.getSlotsForRange(firstDoctor.getId(), day, day.plusDays(6))).hasSize(SLOTS_PER_DOCTOR);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void availableSlots() {
+        assertThat(slotService.getAvailableSlots(firstDoctor.getId(), day))
+                .hasSize(SLOTS_PER_DOCTOR - BOOKED_PER_DOCTOR);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void myAppointments() {
+        assertThat(appointmentService.getMyAppointments(patient.getId())).hasSize(DOCTORS * BOOKED_PER_DOCTOR);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void adminAppointments() {
+        assertThat(appointmentService.getAllAppointmentsForAdmin()).hasSizeGreaterThanOrEqualTo(DOCTORS * BOOKED_PER_DOCTOR);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void adminAppointmentsPage() {
+        assertThat(appointmentService.getAppointmentsPageForAdmin(new AdminAppointmentFilter(), null, 50).getItems())
+                .hasSizeGreaterThanOrEqualTo(DOCTORS * BOOKED_PER_DOCTOR);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void doctorList() {
+        assertThat(doctorRepository.findAllResponses()).hasSizeGreaterThanOrEqualTo(DOCTORS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.dto.SlotResponse;
+import com.appointment.booking.entity.AppointmentService;
+import com.appointment.booking.entity.Doctor;
+import com.appointment.booking.event.SlotChange;
+import com.appointment.booking.repository.DoctorRepository;
+import com.appointment.booking.repository.SlotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotAvailabilityIndexTest {
+
+    @Autowired
+    private SlotAvailabilityIndex slotAvailabilityIndex;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Test
+    void index_isLoadedAndConsistentWithSlotsTable() {
+        assertThat(slotAvailabilityIndex.isServing()).isTrue();
+        assertThat(slotAvailabilityIndex.verifyAgainstDatabase()).isTrue();
+    }
+
+    @Test
+    void findAvailable_matchesRepositoryForDoctorAndDate() {
+        Doctor doctor = doctorRepository.findAll().get(0);
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        List<Long> fromIndex = slotAvailabilityIndex.findAvailable(doctor.getId(), date).stream()
+                .map(SlotResponse::getId).sorted().collect(Collectors.toList());
+        List<Long> fromDb = slotRepository.findByDoctorIdAndSlotDateAndAvailableTrue(doctor.getId(), date).stream()
+                .map(s -> s.getId()).sorted().collect(Collectors.toList());
+
+        assertThat(fromIndex).isNotEmpty().isEqualTo(fromDb);
+    }
+
+    @Test
+    void findNextAvailable_matchesRepositoryForService() {
+        Long serviceId = doctorRepository.findAll().get(0).getService().getId();
+        LocalDateTime from = LocalDate.now().plusDays(1).atTime(10, 0);
+
+        List<Long> fromIndex = slotAvailabilityIndex.findNextAvailable(serviceId, from, 10, Set.of()).stream()
+                .map(SlotResponse::getId).collect(Collectors.toList());
+        List<Long> fromDb = slotRepository.findNextAvailableForService(serviceId, from.toLocalDate(),
+                        from.toLocalTime(), PageRequest.of(0, 10)).stream()
+                .map(SlotResponse::getId).collect(Collectors.toList());
+
+        assertThat(fromIndex).hasSize(10).isEqualTo(fromDb);
+    }
+
+    @Test
+    void rebuild_replaysChangesAppliedWhileLoading() {
+        SlotRepository slots = mock(SlotRepository.class);
+        DoctorRepository doctors = mock(DoctorRepository.class);
+        SlotAvailabilityIndex index = new SlotAvailabilityIndex(slots, doctors);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        AppointmentService service = AppointmentService.builder().id(3L).name("Cardiology").build();
+        when(doctors.findAllWithService()).thenReturn(List.of(
+                Doctor.builder().id(7L).name("Dr. Load").service(service).build()));
+        LocalDate day = LocalDate.of(2099, 3, 2);
+        Object[] row = {1L, 7L, day, LocalTime.of(9, 0), LocalTime.of(9, 30), true};
+        when(slots.findAllSlotStates()).thenReturn(List.<Object[]>of(row));
+        index.rebuild();
+        assertThat(index.isKnownAvailable(1L)).isTrue();
+
+        // The rows were read before this booking committed; its event arrives before the swap
+        when(slots.findAllSlotStates()).thenAnswer(invocation -> {
+            index.apply(List.of(new SlotChange(1L, 7L, day, LocalTime.of(9, 0), LocalTime.of(9, 30), false)));
+            return List.<Object[]>of(row);
+        });
+        index.rebuild();
+
+        assertThat(index.isKnownUnavailable(1L)).isTrue();
+        assertThat(index.findNextAvailable(3L, day.atStartOfDay(), 5, Set.of())).isEmpty();
+    }
+}
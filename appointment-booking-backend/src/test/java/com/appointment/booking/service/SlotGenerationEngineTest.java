@@ -0,0 +1,70 @@
+package com.appointment.booking.service;
+
+import com.appointment.booking.repository.SlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Works on a window in 2099 so the slots the application generated at startup are not involved. */
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotGenerationEngineTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2099, 3, 2);
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    @Autowired
+    private SlotGenerationEngine engine;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeFutureSlots() {
+        jdbcTemplate.update("DELETE FROM slots WHERE slot_date >= ?", Date.valueOf(MONDAY));
+    }
+
+    @Test
+    void rollingGeneration_fillsGapsBeforeLaterSlotsAndRerunsAreNoOps() {
+        Long doctorId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM doctors WHERE weekday_slot_count > 0", Long.class);
+        // A single slot far beyond the window used to make the rolling job start after it
+        jdbcTemplate.update("INSERT INTO slots (doctor_id, slot_date, start_time, end_time, available) "
+                        + "VALUES (?, ?, ?, ?, ?)", doctorId, Date.valueOf(MONDAY.plusMonths(3)),
+                Time.valueOf(LocalTime.of(9, 0)), Time.valueOf(LocalTime.of(9, 30)), true);
+
+        int inserted = engine.generateUpTo(MONDAY, SUNDAY);
+
+        assertThat(inserted).isPositive();
+        assertThat(slotsBetween(MONDAY, SUNDAY)).isEqualTo(inserted);
+        assertThat(slotRepository.countDoctorsWithSlotsPerDay(MONDAY, SUNDAY)).hasSize(7);
+        assertThat(engine.generateUpTo(MONDAY, SUNDAY)).isZero();
+
+        LocalDate wednesday = MONDAY.plusDays(2);
+        int removed = jdbcTemplate.update("DELETE FROM slots WHERE doctor_id = ? AND slot_date = ?",
+                doctorId, Date.valueOf(wednesday));
+
+        assertThat(removed).isPositive();
+        assertThat(engine.generateUpTo(MONDAY, SUNDAY)).isEqualTo(removed);
+        assertThat(slotsBetween(MONDAY, SUNDAY)).isEqualTo(inserted);
+        assertThat(engine.generateUpTo(MONDAY, SUNDAY)).isZero();
+    }
+
+    private int slotsBetween(LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM slots WHERE slot_date BETWEEN ? AND ?",
+                Integer.class, Date.valueOf(from), Date.valueOf(to));
+    }
+}
@@ -0,0 +1,22 @@
+package com.appointment.booking.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test if its body prepares more than {@link #value()} SQL statements.
+ * Only the test method itself is counted; {@code @BeforeEach} seeding is not.
+ * Seed enough rows that an N+1 would exceed the budget.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /** Maximum number of statements the test body may prepare. */
+    int value();
+}
@@ -0,0 +1,52 @@
+package com.appointment.booking.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+
+/**
+ * Counts statements through Hibernate statistics (enabled in the test profile). The second-level cache is
+ * evicted first so cached entities cannot hide lazy loads that would hit the database in production.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SessionFactory sessionFactory = sessionFactory(context);
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        int budget = budget(context);
+        Statistics stats = sessionFactory(context).getStatistics();
+        long statements = stats.getPrepareStatementCount();
+        if (statements > budget) {
+            throw new AssertionError("Query budget exceeded: " + statements + " statements prepared, budget "
+                    + budget + ". Queries: " + Arrays.toString(stats.getQueries())
+                    + ", entity loads: " + stats.getEntityLoadCount()
+                    + ", collection loads: " + stats.getCollectionLoadCount());
+        }
+    }
+
+    private static int budget(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .map(QueryBudget::value)
+                .orElseThrow();
+    }
+
+    private static SessionFactory sessionFactory(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context)
+                .getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class);
+    }
+}